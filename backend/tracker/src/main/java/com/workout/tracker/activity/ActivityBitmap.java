@@ -0,0 +1,129 @@
+package com.workout.tracker.activity;
+
+import java.util.Arrays;
+
+/**
+ * Set of active epoch days stored as a bitmap over the span between a user's first and last active
+ * day, so a year of history takes six longs. Every query walks whole 64-day words and allocates
+ * nothing. Not thread-safe.
+ */
+public class ActivityBitmap {
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * Absolute word index ({@code epochDay >> 6}) of {@code words[0]}.
+     */
+    private int firstWord;
+    private long[] words = EMPTY;
+
+    public void set(int epochDay) {
+        int word = epochDay >> 6;
+        ensureWord(word);
+        words[word - firstWord] |= 1L << (epochDay & 63);
+    }
+
+    public void clear(int epochDay) {
+        int i = (epochDay >> 6) - firstWord;
+        if (i >= 0 && i < words.length) {
+            words[i] &= ~(1L << (epochDay & 63));
+        }
+    }
+
+    public boolean get(int epochDay) {
+        return (word(epochDay >> 6) & (1L << (epochDay & 63))) != 0;
+    }
+
+    /**
+     * @return the number of active days in {@code [fromDay, toDay]}
+     */
+    public int count(int fromDay, int toDay) {
+        if (fromDay > toDay || words.length == 0) {
+            return 0;
+        }
+        int from = Math.max(fromDay, firstWord << 6);
+        int to = Math.min(toDay, ((firstWord + words.length) << 6) - 1);
+        if (from > to) {
+            return 0;
+        }
+        int fromWord = from >> 6;
+        int toWord = to >> 6;
+        long fromMask = -1L << (from & 63);
+        long toMask = -1L >>> (63 - (to & 63));
+        if (fromWord == toWord) {
+            return Long.bitCount(word(fromWord) & fromMask & toMask);
+        }
+        int count = Long.bitCount(word(fromWord) & fromMask) + Long.bitCount(word(toWord) & toMask);
+        for (int word = fromWord + 1; word < toWord; word++) {
+            count += Long.bitCount(word(word));
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of consecutive active days ending on {@code epochDay}
+     */
+    public int runEndingAt(int epochDay) {
+        int run = 0;
+        int day = epochDay;
+        while (true) {
+            int bit = day & 63;
+            // Move the day to the top bit; leading ones are then the run, capped at the bits below it.
+            long shifted = word(day >> 6) << (63 - bit);
+            int ones = Math.min(Long.numberOfLeadingZeros(~shifted), bit + 1);
+            run += ones;
+            if (ones <= bit) {
+                return run;
+            }
+            day -= bit + 1;
+        }
+    }
+
+    public int longestRun() {
+        int longest = 0;
+        int run = 0;
+        for (long word : words) {
+            if (word == -1L) {
+                run += 64;
+                continue;
+            }
+            for (int bit = 0; bit < 64; bit++) {
+                if ((word & (1L << bit)) != 0) {
+                    run++;
+                } else {
+                    longest = Math.max(longest, run);
+                    run = 0;
+                }
+            }
+        }
+        return Math.max(longest, run);
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long word(int word) {
+        int i = word - firstWord;
+        return i >= 0 && i < words.length ? words[i] : 0L;
+    }
+
+    private void ensureWord(int word) {
+        if (words.length == 0) {
+            firstWord = word;
+            words = new long[1];
+        } else if (word < firstWord) {
+            long[] grown = new long[words.length + firstWord - word];
+            System.arraycopy(words, 0, grown, firstWord - word, words.length);
+            words = grown;
+            firstWord = word;
+        } else if (word - firstWord >= words.length) {
+            // Sized exactly: days are mostly appended in order, so this runs about once every 64 days.
+            words = Arrays.copyOf(words, word - firstWord + 1);
+        }
+    }
+}
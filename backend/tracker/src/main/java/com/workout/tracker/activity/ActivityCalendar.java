@@ -0,0 +1,266 @@
+package com.workout.tracker.activity;
+
+import com.workout.tracker.config.ReplicaRoutingDataSource;
+import com.workout.tracker.dto.response.ActivityDto;
+import com.workout.tracker.dto.response.ActivityWeekDto;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.SetDeletedEvent;
+import com.workout.tracker.events.SetsAddedEvent;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.rollup.DailyVolume;
+import com.workout.tracker.utils.IntObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Per-user bitmap of days with at least one logged set, answering streak and frequency queries
+ * with bit operations instead of scanning set timestamps.
+ * <p>
+ * Loaded in one streaming pass before the application serves requests, then updated after every
+ * committed set change. Each bitmap is guarded by its own lock, a {@link ReentrantLock} rather than
+ * a monitor since a delete holds it across a query, which would pin a virtual thread to its carrier;
+ * the map of users by a read/write lock that is only held to find or add a bitmap.
+ * <p>
+ * Set changes committed through other instances are not seen here, so a user's bitmap is rebuilt
+ * from the daily summaries whenever the user's data changed elsewhere, unless a local change of the
+ * user was applied while the summaries were read.
+ */
+@Component
+@Slf4j
+public class ActivityCalendar implements SmartInitializingSingleton {
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<UserActivity> users = new IntObjectHashMap<>();
+
+    public ActivityCalendar(UserWorkoutExcerciseRepository userWorkoutExcerciseRepository,
+                            ExerciseDailySummaryRepository exerciseDailySummaryRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.exerciseDailySummaryRepository = exerciseDailySummaryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        // Seeded from the primary: a lagging replica would leave the store missing recent writes for good.
+        ReplicaRoutingDataSource.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<DailyVolume> days = userWorkoutExcerciseRepository.streamDailyVolumes()) {
+                lock.writeLock().lock();
+                try {
+                    users.clear();
+                    days.forEach(day -> activityFor(day.getUserId()).days.set((int) day.getDate().toEpochDay()));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }));
+        log.info("Loaded activity calendars for {} users in {} ms", users.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onSetsAdded(SetsAddedEvent event) {
+        for (LoggedSet set : event.getSets()) {
+            UserActivity activity = lockedActivityFor(set.getUserId());
+            activity.lock.lock();
+            try {
+                activity.days.set((int) set.getDateTime().toLocalDate().toEpochDay());
+                activity.changes++;
+            } finally {
+                activity.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Clears the day unless the user still has another set on it. The check runs after commit and
+     * under the bitmap's lock, so a set committed concurrently on the same day is either seen by
+     * the check or marks the day again afterwards.
+     */
+    @TransactionalEventListener
+    public void onSetDeleted(SetDeletedEvent event) {
+        LoggedSet deleted = event.getSet();
+        UserActivity activity = activity(deleted.getUserId());
+        if (activity == null) {
+            return;
+        }
+        LocalDate date = deleted.getDateTime().toLocalDate();
+        activity.lock.lock();
+        try {
+            if (!userWorkoutExcerciseRepository.existsSetOfUserBetween(deleted.getUserId(),
+                    date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+                activity.days.clear((int) date.toEpochDay());
+            }
+            activity.changes++;
+        } finally {
+            activity.lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        Set<Integer> userIds = event.getUserIds();
+        for (int attempt = 0; attempt < MAX_REBUILD_ATTEMPTS && !userIds.isEmpty(); attempt++) {
+            userIds = rebuild(userIds);
+        }
+        if (!userIds.isEmpty()) {
+            log.warn("Activity calendars of {} users left unrefreshed while they keep changing", userIds.size());
+        }
+    }
+
+    /**
+     * @param weeks number of ISO weeks, ending with the current one, to report active days for
+     */
+    public ActivityDto getActivity(int userId, LocalDate today, int weeks) {
+        int todayDay = (int) today.toEpochDay();
+        int weekStart = todayDay - (today.getDayOfWeek().getValue() - 1);
+        ActivityDto.ActivityDtoBuilder result = ActivityDto.builder();
+        List<Boolean> currentWeek = new ArrayList<>(7);
+        List<ActivityWeekDto> weekly = new ArrayList<>(weeks);
+        UserActivity activity = activity(userId);
+        if (activity == null) {
+            activity = new UserActivity();
+        }
+        activity.lock.lock();
+        try {
+            ActivityBitmap bitmap = activity.days;
+            // Like the dashboard, a streak survives until the end of the day after the last workout.
+            int currentStreak = bitmap.get(todayDay) ? bitmap.runEndingAt(todayDay) : bitmap.runEndingAt(todayDay - 1);
+            result.currentStreak(currentStreak)
+                    .longestStreak(bitmap.longestRun())
+                    .activeDaysLast30(bitmap.count(todayDay - 29, todayDay));
+            for (int day = weekStart; day < weekStart + 7; day++) {
+                currentWeek.add(bitmap.get(day));
+            }
+            for (int week = weeks - 1; week >= 0; week--) {
+                int start = weekStart - 7 * week;
+                weekly.add(ActivityWeekDto.builder()
+                        .weekStart(LocalDate.ofEpochDay(start))
+                        .activeDays(bitmap.count(start, start + 6))
+                        .build());
+            }
+        } finally {
+            activity.lock.unlock();
+        }
+        return result.currentWeek(currentWeek).weeks(weekly).build();
+    }
+
+    /**
+     * @return the number of days in {@code [from, to]} with at least one logged set
+     */
+    public int countActiveDays(int userId, LocalDate from, LocalDate to) {
+        UserActivity activity = activity(userId);
+        if (activity == null) {
+            return 0;
+        }
+        activity.lock.lock();
+        try {
+            return activity.days.count((int) from.toEpochDay(), (int) to.toEpochDay());
+        } finally {
+            activity.lock.unlock();
+        }
+    }
+
+    /**
+     * Setting a day is idempotent and clearing one rechecks the database, so a local change that
+     * commits while the summaries are read only matters if it was applied before the rebuild is.
+     *
+     * @return the users with local changes applied while their summaries were read, left as they are
+     */
+    private Set<Integer> rebuild(Set<Integer> userIds) {
+        Map<Integer, Long> changesBefore = new HashMap<>();
+        Map<Integer, ActivityBitmap> rebuilt = new HashMap<>();
+        for (int userId : userIds) {
+            UserActivity activity = lockedActivityFor(userId);
+            activity.lock.lock();
+            try {
+                changesBefore.put(userId, activity.changes);
+            } finally {
+                activity.lock.unlock();
+            }
+            rebuilt.put(userId, new ActivityBitmap());
+        }
+        ReplicaRoutingDataSource.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status ->
+                exerciseDailySummaryRepository.findDailyVolumes(userIds)
+                        .forEach(day -> rebuilt.get(day.getUserId()).set((int) day.getDate().toEpochDay()))));
+        Set<Integer> busy = new HashSet<>();
+        for (int userId : userIds) {
+            UserActivity activity = lockedActivityFor(userId);
+            activity.lock.lock();
+            try {
+                if (activity.changes == changesBefore.get(userId)) {
+                    activity.days = rebuilt.get(userId);
+                } else {
+                    busy.add(userId);
+                }
+            } finally {
+                activity.lock.unlock();
+            }
+        }
+        return busy;
+    }
+
+    private UserActivity activity(int userId) {
+        lock.readLock().lock();
+        try {
+            return users.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private UserActivity lockedActivityFor(int userId) {
+        UserActivity activity = activity(userId);
+        if (activity != null) {
+            return activity;
+        }
+        lock.writeLock().lock();
+        try {
+            return activityFor(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private UserActivity activityFor(int userId) {
+        UserActivity activity = users.get(userId);
+        if (activity == null) {
+            activity = new UserActivity();
+            users.put(userId, activity);
+        }
+        return activity;
+    }
+
+    private static class UserActivity {
+        private final ReentrantLock lock = new ReentrantLock();
+        private ActivityBitmap days = new ActivityBitmap();
+        /**
+         * Local changes applied so far.
+         */
+        private long changes;
+    }
+}
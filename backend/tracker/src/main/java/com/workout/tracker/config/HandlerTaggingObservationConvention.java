@@ -0,0 +1,29 @@
+package com.workout.tracker.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the controller method that served the request, as {@code handler=Controller#method}, to the
+ * {@code http.server.requests} metrics, so latency can be read per controller method rather than
+ * per URI template.
+ */
+public class HandlerTaggingObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return NO_HANDLER;
+    }
+}
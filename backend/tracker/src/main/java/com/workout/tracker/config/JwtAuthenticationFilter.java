@@ -1,55 +1,82 @@
 package com.workout.tracker.config;
 
+import com.workout.tracker.security.AuthenticatedUser;
 import com.workout.tracker.security.JwtService;
 import com.workout.tracker.security.UserService;
+import com.workout.tracker.security.VerifiedToken;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates bearer tokens. The verification and token-version check are timed under
+ * {@code auth.jwt.filter}, tagged with whether the token authenticated, was rejected, or failed to
+ * verify; requests without a token are not timed.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserService userService;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+    private final Timer errorTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userService = userService;
+        this.authenticatedTimer = Timer.builder("auth.jwt.filter").tag("result", "authenticated").register(meterRegistry);
+        this.rejectedTimer = Timer.builder("auth.jwt.filter").tag("result", "rejected").register(meterRegistry);
+        this.errorTimer = Timer.builder("auth.jwt.filter").tag("result", "error").register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
         if (StringUtils.isEmpty(authHeader) || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUserName(jwt);
-        if (StringUtils.isNotEmpty(userEmail)
+        long start = System.nanoTime();
+        Timer timer = errorTimer;
+        try {
+            timer = authenticate(request, authHeader.substring(7)) ? authenticatedTimer : rejectedTimer;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean authenticate(HttpServletRequest request, String jwt) {
+        final VerifiedToken verifiedToken = jwtService.verifyToken(jwt);
+        if (StringUtils.isNotEmpty(verifiedToken.getSubject()) && verifiedToken.getUserId() != null
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.userDetailsService()
-                    .loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userService.isTokenVersionCurrent(verifiedToken.getUserId(), verifiedToken.getTokenVersion())) {
+                AuthenticatedUser principal = new AuthenticatedUser(verifiedToken.getUserId(), verifiedToken.getSubject());
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 context.setAuthentication(authToken);
                 SecurityContextHolder.setContext(context);
+                return true;
             }
         }
-        filterChain.doFilter(request, response);
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.workout.tracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.List;
+
+/**
+ * Metrics beyond what Actuator records on its own: the controller method on every request timing,
+ * and per-request Hibernate statement and entity-load counts. Percentiles and histograms for these
+ * are configured under {@code management.metrics.distribution} and scraped from
+ * {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new HandlerTaggingObservationConvention();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryCountingCustomizer() {
+        StatementInspector statementInspector = sql -> {
+            RequestQueryCounts.statementPrepared();
+            return sql;
+        };
+        PostLoadEventListener postLoadListener = event -> RequestQueryCounts.entityLoaded();
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, postLoadListener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(integrator));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestQueryMetricsFilter> requestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestQueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestQueryMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.workout.tracker.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Pins a request to the primary when its client wrote within the replica lag window, so a user always
+ * sees their own writes. The time of the client's last write travels with the client in a cookie set
+ * on the response that wrote, so any instance can tell, and nothing is kept per user. When the
+ * handler continues asynchronously, the pin travels with the async task and is cleared from the
+ * request thread straight away.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    public static final String LAST_WRITE_COOKIE = "last_write";
+    private static final String WINDOW_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".window";
+
+    private final Duration readYourWritesWindow;
+
+    /**
+     * Sets the last-write cookie on the current request's response, if the request went through this
+     * interceptor. Called once a write commits, which is before the handler writes its response.
+     */
+    public static void markWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || !(attributes.getRequest().getAttribute(WINDOW_ATTRIBUTE) instanceof Duration window)
+                || attributes.getResponse() == null || attributes.getResponse().isCommitted()) {
+            return;
+        }
+        attributes.getResponse().addHeader(HttpHeaders.SET_COOKIE,
+                ResponseCookie.from(LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()))
+                        .path("/")
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .maxAge(window)
+                        .build()
+                        .toString());
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        request.setAttribute(WINDOW_ATTRIBUTE, readYourWritesWindow);
+        Long lastWrite = lastWrite(request);
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesWindow.toMillis()) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    private static Long lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.valueOf(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
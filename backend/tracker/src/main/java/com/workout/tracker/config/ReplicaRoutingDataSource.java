@@ -0,0 +1,121 @@
+package com.workout.tracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary. The decision uses the transaction's read-only flag, which is only set once the
+ * transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that fetches the real
+ * connection on the first statement.
+ * <p>
+ * A thread can be pinned to the primary, for example right after its user wrote, so it reads its own
+ * writes regardless of replica lag. The pin belongs to the thread only; work handed to another
+ * thread, such as a streamed response body or a dashboard component, carries it over through
+ * {@link #withCurrentPin}. If the replica cannot hand out a connection, the read falls back to the
+ * primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.primaryConnections = Counter.builder("datasource.routing.connections").tag("route", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("datasource.routing.connections").tag("route", "replica")
+                .register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("datasource.routing.replica.fallbacks").register(meterRegistry);
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            } else {
+                PINNED_TO_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable runnable) {
+        onPrimary(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns work that runs with the calling thread's pin, wherever it is run; unpinned work is
+     * returned as is. Also usable as a {@link org.springframework.core.task.TaskDecorator}.
+     */
+    public static Runnable withCurrentPin(Runnable runnable) {
+        return PINNED_TO_PRIMARY.get() == null ? runnable : () -> runOnPrimary(runnable);
+    }
+
+    public static <T> Supplier<T> withCurrentPin(Supplier<T> supplier) {
+        return PINNED_TO_PRIMARY.get() == null ? supplier : () -> onPrimary(supplier);
+    }
+
+    public static Route currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED_TO_PRIMARY.get() == null
+                ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (currentRoute() == Route.PRIMARY) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = super.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica connection failed, reading from the primary: {}", e.getMessage());
+            replicaFallbacks.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+}
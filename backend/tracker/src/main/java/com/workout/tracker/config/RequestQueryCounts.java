@@ -0,0 +1,72 @@
+package com.workout.tracker.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the JDBC statements Hibernate prepares and the entities it loads while a request is being
+ * served. The counts belong to the thread that started them; work handed to another thread is
+ * counted only if it is wrapped with {@link #withCurrent}, as the application task executor and the
+ * dashboard's component tasks do.
+ */
+public class RequestQueryCounts {
+    private static final ThreadLocal<RequestQueryCounts> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger entityLoads = new AtomicInteger();
+
+    public static RequestQueryCounts start() {
+        RequestQueryCounts counts = new RequestQueryCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns work that counts towards the calling thread's counts, wherever it is run; uncounted work
+     * is returned as is. Also usable as a {@link org.springframework.core.task.TaskDecorator}.
+     */
+    public static Runnable withCurrent(Runnable runnable) {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestQueryCounts previous = CURRENT.get();
+            CURRENT.set(counts);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public static void statementPrepared() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements.incrementAndGet();
+        }
+    }
+
+    public static void entityLoaded() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads.incrementAndGet();
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public int getEntityLoads() {
+        return entityLoads.get();
+    }
+}
@@ -0,0 +1,61 @@
+package com.workout.tracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many statements Hibernate prepared and how many entities it loaded for each request,
+ * as {@code hibernate.request.statements} and {@code hibernate.request.entity.loads} tagged with the
+ * same {@code uri} template as {@code http.server.requests}. Entity loads include entities assembled
+ * from the second-level cache. Streaming requests that go async are not recorded.
+ */
+@RequiredArgsConstructor
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Summaries> summariesByUri = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryCounts counts = RequestQueryCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryCounts.stop();
+            if (!request.isAsyncStarted()) {
+                record(request, counts);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryCounts counts) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Summaries summaries = summariesByUri.computeIfAbsent(pattern == null ? UNKNOWN_URI : pattern.toString(), this::register);
+        summaries.statements.record(counts.getStatements());
+        summaries.entityLoads.record(counts.getEntityLoads());
+    }
+
+    private Summaries register(String uri) {
+        return new Summaries(
+                DistributionSummary.builder("hibernate.request.statements").tag("uri", uri).register(meterRegistry),
+                DistributionSummary.builder("hibernate.request.entity.loads").tag("uri", uri).register(meterRegistry));
+    }
+
+    private record Summaries(DistributionSummary statements, DistributionSummary entityLoads) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.workout.tracker.config;
+
+import com.workout.tracker.entities.UserWorkout;
+import com.workout.tracker.events.UserDataChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops second-level cache entries that writes through another instance may have made stale. Each
+ * instance has its own cache, and Hibernate only invalidates it for writes it makes itself.
+ * <p>
+ * Cached query results cannot be evicted per user, so the per-user list regions are cleared whole,
+ * together with the custom workout entities, the only cached rows these writes delete.
+ * Exercises and users are never changed by these writes.
+ */
+@Component
+public class SecondLevelCacheInvalidation {
+    private final Cache cache;
+
+    public SecondLevelCacheInvalidation(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        cache.evictQueryRegion("user-exercises-by-user");
+        cache.evictQueryRegion("user-workouts-by-user");
+        cache.evictEntityData(UserWorkout.class);
+    }
+}
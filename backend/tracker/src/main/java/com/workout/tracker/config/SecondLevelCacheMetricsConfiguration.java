@@ -0,0 +1,40 @@
+package com.workout.tracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.Config;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Reports hits, misses, puts and evictions of every second-level cache region as {@code cache.*}
+ * metrics, tagged with the region name. The counts come from the JCache statistics Caffeine keeps per
+ * region ({@code monitoring.statistics} in hibernate-cache.conf), so Hibernate's own statistics can
+ * stay off.
+ */
+@Configuration
+public class SecondLevelCacheMetricsConfiguration {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            if (!(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory()
+                    instanceof JCacheRegionFactory regionFactory)) {
+                return;
+            }
+            CacheManager cacheManager = regionFactory.getCacheManager();
+            // Query result regions are only created on first use, so bind every configured region, creating
+            // it now if needed; Hibernate then gets the same cache from the manager.
+            Config config = TypesafeConfigurator.configSource().get(cacheManager.getURI(), cacheManager.getClassLoader());
+            for (String region : TypesafeConfigurator.cacheNames(config)) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+            }
+        };
+    }
+}
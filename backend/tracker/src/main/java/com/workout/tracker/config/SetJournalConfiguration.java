@@ -0,0 +1,24 @@
+package com.workout.tracker.config;
+
+import com.workout.tracker.journal.SetJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "sets.write-behind.enabled", havingValue = "true")
+public class SetJournalConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public SetJournal setJournal(@Value("${sets.write-behind.journal-path:./data/set-journal.dat}") Path journalPath,
+                                 @Value("${sets.write-behind.journal-size:64MB}") DataSize journalSize,
+                                 @Value("${sets.write-behind.full-timeout:2s}") Duration fullTimeout) throws IOException {
+        return new SetJournal(journalPath, Math.toIntExact(journalSize.toBytes()), fullTimeout);
+    }
+}
@@ -0,0 +1,18 @@
+package com.workout.tracker.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Decorates the application task executor, which also runs async MVC handlers such as streamed
+ * response bodies, so work handed to it keeps the request's replica pin and query counts.
+ */
+@Configuration
+public class TaskExecutionConfiguration {
+
+    @Bean
+    public TaskDecorator requestStatePropagatingTaskDecorator() {
+        return runnable -> RequestQueryCounts.withCurrent(ReplicaRoutingDataSource.withCurrentPin(runnable));
+    }
+}
@@ -0,0 +1,63 @@
+package com.workout.tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Applied when requests are served on virtual threads ({@code spring.threads.virtual.enabled=true}
+ * on Java 21+): puts a semaphore sized to the JDBC pool in front of each of the application's pools.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfiguration {
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pools themselves are limited, not the replica routing layered over them.
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("datasource.concurrency-limit.permits", Integer.class, 0);
+                Duration acquireTimeout = Duration.ofMillis(30_000);
+                HikariDataSource hikari = unwrapHikari(dataSource);
+                if (hikari != null) {
+                    // Hikari only applies its default pool size once the pool starts.
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                    permits = permits > 0 ? permits : poolSize;
+                    acquireTimeout = Duration.ofMillis(hikari.getConnectionTimeout());
+                }
+                if (permits <= 0) {
+                    return bean;
+                }
+                log.info("Limiting DataSource '{}' to {} concurrent connections", beanName, permits);
+                return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
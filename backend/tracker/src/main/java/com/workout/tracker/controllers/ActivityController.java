@@ -0,0 +1,41 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.activity.ActivityCalendar;
+import com.workout.tracker.dto.response.ActivityDto;
+import com.workout.tracker.services.UserDataVersionTracker;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class ActivityController {
+    private final ActivityCalendar activityCalendar;
+    private final UserDataVersionTracker userDataVersionTracker;
+
+    private static final int MAX_WEEKS = 520;
+
+    @GetMapping("/activity")
+    public ResponseEntity<?> viewActivity(@RequestParam int userId,
+                                          @RequestParam(defaultValue = "12") int weeks,
+                                          WebRequest request){
+        int weekCount = Math.max(1, Math.min(weeks, MAX_WEEKS));
+        LocalDate today = LocalDate.now();
+        try{
+            // Streaks depend on today as well as on the sets, so the date is part of the tag.
+            String eTag = userDataVersionTracker.eTag(userId, today + "-" + weekCount);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            ActivityDto activity = activityCalendar.getActivity(userId, today, weekCount);
+            return ResponseEntityUtils.createSuccessResponse(activity, "Retrieved activity successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving activity.");
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.workout.tracker.controllers;
 
+import com.workout.tracker.dao.request.RefreshTokenRequest;
 import com.workout.tracker.dao.request.SignUpRequest;
 import com.workout.tracker.dao.request.SigninRequest;
 import com.workout.tracker.security.AuthenticationService;
+import com.workout.tracker.security.PasswordHashingRejectedException;
+import com.workout.tracker.security.UserAlreadyRegisteredException;
 import com.workout.tracker.utils.ApiResponse;
+import com.workout.tracker.utils.ResponseEntityUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static com.workout.tracker.utils.Constants.SUCCESS_MESSAGE;
 
 @RestController
@@ -22,17 +31,40 @@ public class AuthenticationController {
     private final AuthenticationService authenticationService;
 
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@RequestBody SignUpRequest request) {
-        try {
+    public CompletableFuture<ResponseEntity<?>> signup(@RequestBody SignUpRequest request) {
+        return authenticationService.signup(request)
+                .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(ApiResponse.builder().status(SUCCESS_MESSAGE).body(response).message("Succesfully signed up!").build(), HttpStatus.OK))
+                .exceptionally(e -> switch (unwrap(e)) {
+                    case PasswordHashingRejectedException rejected -> ResponseEntityUtils.createServiceUnavailableResponse("Too many authentication requests, please retry.");
+                    case UserAlreadyRegisteredException registered -> new ResponseEntity<>("Already registered for this emailId!", HttpStatus.FORBIDDEN);
+                    default -> ResponseEntityUtils.createErrorResponse("Error signing up.");
+                });
+    }
 
-            return new ResponseEntity<>(ApiResponse.builder().status(SUCCESS_MESSAGE).body(authenticationService.signup(request)).message("Succesfully signed up!").build(), HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>("Already registered for this emailId!", HttpStatus.FORBIDDEN);
+    @PostMapping("/signin")
+    public CompletableFuture<ResponseEntity<?>> signin(@RequestBody SigninRequest request) {
+        return authenticationService.signin(request)
+                .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(ApiResponse.builder().status(SUCCESS_MESSAGE).body(response).message("Successfully signed in!").build(), HttpStatus.OK))
+                .exceptionally(e -> switch (unwrap(e)) {
+                    case PasswordHashingRejectedException rejected -> ResponseEntityUtils.createServiceUnavailableResponse("Too many authentication requests, please retry.");
+                    case BadCredentialsException badCredentials -> new ResponseEntity<>("Invalid email or password!", HttpStatus.FORBIDDEN);
+                    default -> ResponseEntityUtils.createErrorResponse("Error signing in.");
+                });
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        if (request.getRefreshToken() == null || request.getRefreshToken().isBlank()) {
+            return new ResponseEntity<>("Missing refresh token!", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(ApiResponse.builder().status(SUCCESS_MESSAGE).body(authenticationService.refresh(request)).message("Successfully refreshed token!").build(), HttpStatus.OK);
+        } catch (AuthenticationException e) {
+            return new ResponseEntity<>("Invalid or expired refresh token!", HttpStatus.UNAUTHORIZED);
         }
     }
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> signin(@RequestBody SigninRequest request) {
-        return new ResponseEntity<>(ApiResponse.builder().status(SUCCESS_MESSAGE).body(authenticationService.signin(request)).message("Successfully signed in!").build(), HttpStatus.OK);
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
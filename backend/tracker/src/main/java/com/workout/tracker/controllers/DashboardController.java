@@ -0,0 +1,39 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.DashboardDto;
+import com.workout.tracker.services.DashboardService;
+import com.workout.tracker.services.UserDataVersionTracker;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class DashboardController {
+    private final DashboardService dashboardService;
+    private final UserDataVersionTracker userDataVersionTracker;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> viewDashboard(@RequestParam int userId, WebRequest request){
+        LocalDate today = LocalDate.now();
+        try{
+            String eTag = userDataVersionTracker.eTag(userId, today.toString());
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            DashboardDto dashboard = dashboardService.getDashboard(userId, today);
+            if (!dashboard.getUnavailable().isEmpty()) {
+                // A partial dashboard must not be revalidated as current once the missing parts recover.
+                return ResponseEntityUtils.createSuccessResponse(dashboard, "Retrieved a partial dashboard.");
+            }
+            return ResponseEntityUtils.createSuccessResponse(dashboard, "Retrieved dashboard successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving dashboard.");
+        }
+    }
+}
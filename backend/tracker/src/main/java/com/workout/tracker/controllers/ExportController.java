@@ -0,0 +1,40 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.services.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class ExportController {
+    private final ExportService exportService;
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    /**
+     * Streams the user's sets as CSV. The body is gzip-compressed and sent with
+     * {@code Content-Encoding: gzip}, so browsers save the plain CSV.
+     */
+    @GetMapping("/export/sets")
+    public ResponseEntity<StreamingResponseBody> exportSets(@RequestParam int userId,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        StreamingResponseBody body = outputStream -> exportService.exportSetsCsv(userId, from, to, outputStream);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("training-history-" + LocalDate.now() + ".csv").build().toString())
+                .body(body);
+    }
+}
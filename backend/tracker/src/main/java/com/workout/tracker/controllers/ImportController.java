@@ -0,0 +1,63 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.SetImportResponseDto;
+import com.workout.tracker.dto.response.SetImportStatusDto;
+import com.workout.tracker.services.SetImportService;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class ImportController {
+    private final SetImportService setImportService;
+
+    private static final int MAX_IMPORT_ID_LENGTH = 64;
+
+    /**
+     * Imports sets from a CSV body with a header row; the body may be gzip-compressed with
+     * {@code Content-Encoding: gzip}. Retrying with the same import id resumes after the last
+     * committed chunk.
+     */
+    @PostMapping(value = "/import/sets", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<?> importSets(@RequestParam int userId, @RequestParam String importId,
+                                        HttpServletRequest request){
+        if (importId.isBlank() || importId.length() > MAX_IMPORT_ID_LENGTH) {
+            return new ResponseEntity<>("importId must be 1-" + MAX_IMPORT_ID_LENGTH + " characters.", HttpStatus.BAD_REQUEST);
+        }
+        try{
+            InputStream body = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                body = new GZIPInputStream(body);
+            }
+            SetImportResponseDto result = setImportService.importCsv(userId, importId, body);
+            return ResponseEntityUtils.createSuccessResponse(result, "Imported " + result.getRowsImported() + " sets.");
+        } catch (IllegalArgumentException | IllegalStateException e){
+            return ResponseEntityUtils.createErrorResponse("Error importing sets: " + e.getMessage());
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error importing sets.");
+        }
+    }
+
+    @GetMapping("/import/sets/{importId}")
+    public ResponseEntity<?> viewImportStatus(@PathVariable String importId, @RequestParam int userId){
+        try{
+            Optional<SetImportStatusDto> status = setImportService.getStatus(userId, importId);
+            if (status.isEmpty()) {
+                return new ResponseEntity<>("Import not found.", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntityUtils.createSuccessResponse(status.get(), "Retrieved import status successfully!");
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving import status.");
+        }
+    }
+}
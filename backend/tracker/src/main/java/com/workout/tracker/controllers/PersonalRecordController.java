@@ -0,0 +1,38 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.PersonalRecordDto;
+import com.workout.tracker.services.PersonalRecordService;
+import com.workout.tracker.services.UserDataVersionTracker;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class PersonalRecordController {
+    private final PersonalRecordService personalRecordService;
+    private final UserDataVersionTracker userDataVersionTracker;
+
+    @GetMapping("/personalRecords")
+    public ResponseEntity<?> viewPersonalRecords(@RequestParam int userId,
+                                                 @RequestParam(required = false) Integer userExcerciseId,
+                                                 WebRequest request){
+        try{
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            List<PersonalRecordDto> records = userExcerciseId != null
+                    ? personalRecordService.getRecords(userId, userExcerciseId)
+                    : personalRecordService.getRecords(userId);
+            return ResponseEntityUtils.createSuccessResponse(records, "Retrieved personal records successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving personal records.");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.PlateauDto;
+import com.workout.tracker.services.PlateauDetectionService;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class PlateauController {
+    private final PlateauDetectionService plateauDetectionService;
+
+    @GetMapping("/plateaus")
+    public ResponseEntity<?> viewPlateaus(@RequestParam int userId){
+        try{
+            List<PlateauDto> plateaus = plateauDetectionService.getPlateaus(userId);
+            return ResponseEntityUtils.createSuccessResponse(plateaus, "Retrieved plateaus successfully!");
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving plateaus.");
+        }
+    }
+}
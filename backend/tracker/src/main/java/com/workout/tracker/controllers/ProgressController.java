@@ -0,0 +1,61 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.ProgressPointDto;
+import com.workout.tracker.dto.response.VolumePointDto;
+import com.workout.tracker.rollup.RollupGranularity;
+import com.workout.tracker.services.ProgressService;
+import com.workout.tracker.services.UserDataVersionTracker;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class ProgressController {
+    private final ProgressService progressService;
+    private final UserDataVersionTracker userDataVersionTracker;
+
+    @GetMapping("/progress")
+    public ResponseEntity<?> viewProgress(@RequestParam int userId,
+                                          @RequestParam int userExcerciseId,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          WebRequest request){
+        try{
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            List<ProgressPointDto> progress = progressService.getProgress(userId, userExcerciseId, from, to);
+            return ResponseEntityUtils.createSuccessResponse(progress, "Retrieved progress successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving progress.");
+        }
+    }
+
+    @GetMapping("/progress/volume")
+    public ResponseEntity<?> viewVolume(@RequestParam int userId,
+                                        @RequestParam(required = false) Integer userExcerciseId,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(defaultValue = "WEEK") RollupGranularity granularity,
+                                        WebRequest request){
+        try{
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            List<VolumePointDto> volume = progressService.getVolume(userId, userExcerciseId, from, to, granularity);
+            return ResponseEntityUtils.createSuccessResponse(volume, "Retrieved volume successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving volume.");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dto.response.ExercisePerformanceDto;
+import com.workout.tracker.dto.response.WeeklyVolumeTrendDto;
+import com.workout.tracker.services.PerformanceSummaryService;
+import com.workout.tracker.utils.ResponseEntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Summaries trail the sets by the outbox applier's interval, so unlike the other read endpoints
+ * these carry no data-version ETag.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin
+public class SummaryController {
+    private final PerformanceSummaryService performanceSummaryService;
+
+    @GetMapping("/summaries/exercises")
+    public ResponseEntity<?> viewExercisePerformance(@RequestParam int userId){
+        try{
+            List<ExercisePerformanceDto> summaries = performanceSummaryService.getExercisePerformance(userId);
+            return ResponseEntityUtils.createSuccessResponse(summaries, "Retrieved exercise summaries successfully!");
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving exercise summaries.");
+        }
+    }
+
+    @GetMapping("/summaries/weekly")
+    public ResponseEntity<?> viewWeeklyVolumeTrends(@RequestParam int userId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        try{
+            List<WeeklyVolumeTrendDto> trends = performanceSummaryService.getWeeklyVolumeTrends(userId, from, to);
+            return ResponseEntityUtils.createSuccessResponse(trends, "Retrieved weekly volume trends successfully!");
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving weekly volume trends.");
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.workout.tracker.controllers;
 
 import com.workout.tracker.dto.request.ExerciseRequestDto;
+import com.workout.tracker.services.UserDataVersionTracker;
 import com.workout.tracker.services.UserExcerciseService;
 import com.workout.tracker.utils.ResponseEntityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserExerciseController {
 
     private final UserExcerciseService userExcerciseService;
+    private final UserDataVersionTracker userDataVersionTracker;
 
     @PostMapping("/addExercise")
     public ResponseEntity<?> addUserExercise(@RequestBody ExerciseRequestDto exerciseRequestDto){
@@ -25,10 +28,14 @@ public class UserExerciseController {
     }
 
     @GetMapping("/viewExercise")
-    public ResponseEntity<?> viewUserExercise(@RequestParam int userId){
+    public ResponseEntity<?> viewUserExercise(@RequestParam int userId, WebRequest request){
         try
             {
-                return ResponseEntityUtils.createSuccessResponse(userExcerciseService.viewUserExercise(userId), "Successfully fetched results");
+                String eTag = userDataVersionTracker.eTag(userId);
+                if (request.checkNotModified(eTag)) {
+                    return null;
+                }
+                return ResponseEntityUtils.createSuccessResponse(userExcerciseService.viewUserExercise(userId), "Successfully fetched results", eTag);
             }
         catch (Exception e) {
             return ResponseEntityUtils.createErrorResponse("Error viewing exercises!");
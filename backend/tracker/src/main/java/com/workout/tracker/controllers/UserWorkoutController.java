@@ -1,10 +1,13 @@
 package com.workout.tracker.controllers;
 
+import com.workout.tracker.projection.UserWorkoutProjection;
+import com.workout.tracker.services.UserDataVersionTracker;
 import com.workout.tracker.services.UserWorkoutService;
 import com.workout.tracker.utils.ResponseEntityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.Map;
 @CrossOrigin
 public class UserWorkoutController {
     private final UserWorkoutService userWorkoutService;
+    private final UserDataVersionTracker userDataVersionTracker;
 
     @PostMapping("/customWorkout")
     public ResponseEntity addCustomWorkout(@RequestParam int userId, @RequestParam String workoutName){
@@ -31,10 +35,14 @@ public class UserWorkoutController {
     }
 
     @GetMapping("/viewCustomWorkouts")
-    public ResponseEntity viewCustomWorkout(@RequestParam int userId){
+    public ResponseEntity viewCustomWorkout(@RequestParam int userId, WebRequest request){
         try{
-            List<Map<String, Object>> workoutList = userWorkoutService.viewUserWorkout(userId);
-            return ResponseEntityUtils.createSuccessResponse(workoutList, "Successfully fetched the results.");
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            List<UserWorkoutProjection> workoutList = userWorkoutService.viewUserWorkout(userId);
+            return ResponseEntityUtils.createSuccessResponse(workoutList, "Successfully fetched the results.", eTag);
         } catch (Exception e){
             return ResponseEntityUtils.createErrorResponse("Error fetching custom workouts");
         }
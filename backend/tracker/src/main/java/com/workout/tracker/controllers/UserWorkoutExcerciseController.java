@@ -2,12 +2,24 @@ package com.workout.tracker.controllers;
 
 import com.workout.tracker.dto.request.UserWorkoutExerciseDTO;
 import com.workout.tracker.dto.request.WorkoutExcerciseRequestDto;
+import com.workout.tracker.dto.response.SetPageDto;
+import com.workout.tracker.dto.response.SetUploadResponseDto;
+import com.workout.tracker.dto.response.SetsAddedResponseDto;
+import com.workout.tracker.services.SetStreamIngestionService;
+import com.workout.tracker.services.UserDataVersionTracker;
 import com.workout.tracker.services.UserWorkoutExcerciseService;
 import com.workout.tracker.utils.ResponseEntityUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,17 +27,31 @@ import java.util.List;
 @CrossOrigin
 public class UserWorkoutExcerciseController {
     private final UserWorkoutExcerciseService userWorkoutExcerciseService;
+    private final SetStreamIngestionService setStreamIngestionService;
+    private final UserDataVersionTracker userDataVersionTracker;
+
+    private static final int MAX_PAGE_SIZE = 500;
 
     @PostMapping("/addExerciseSets")
     public ResponseEntity<?> addExerciseSets(@RequestBody List<WorkoutExcerciseRequestDto> workoutExcerciseRequestDtoList){
         try{
-            userWorkoutExcerciseService.addUserWorkoutExcercise(workoutExcerciseRequestDtoList);
-            return ResponseEntityUtils.createSuccessResponse("Added the sets to the exercise successfully!", "Save operation successful.");
+            SetsAddedResponseDto result = userWorkoutExcerciseService.addUserWorkoutExcercise(workoutExcerciseRequestDtoList);
+            return ResponseEntityUtils.createSuccessResponse(result, "Added the sets to the exercise successfully!");
         } catch (Exception e){
             return ResponseEntityUtils.createErrorResponse("Error saving exercise sets.");
         }
     }
 
+    @PostMapping(value = "/addExerciseSets/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> addExerciseSetsStream(HttpServletRequest request){
+        try{
+            SetUploadResponseDto result = setStreamIngestionService.ingest(request.getInputStream());
+            return ResponseEntityUtils.createSuccessResponse(result, "Processed " + result.getChunks().size() + " chunks.");
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error streaming exercise sets.");
+        }
+    }
+
     @GetMapping("/viewAddedSets")
     public ResponseEntity<?> viewAddedSets(){
         try{
@@ -36,6 +62,49 @@ public class UserWorkoutExcerciseController {
         }
     }
 
+    @GetMapping("/viewAddedSets/page")
+    public ResponseEntity<?> viewAddedSetsPage(@RequestParam int userId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "100") int limit,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(required = false) Integer userExcerciseId,
+                                               WebRequest request){
+        try{
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            SetPageDto page = userWorkoutExcerciseService.getAddedSetsPage(userId, userExcerciseId, from, to, cursor, pageSize);
+            return ResponseEntityUtils.createSuccessResponse(page, "Retrieved added sets successfully!", eTag);
+        } catch (Exception e){
+            return ResponseEntityUtils.createErrorResponse("Error retrieving added sets.");
+        }
+    }
+
+    @GetMapping("/viewAddedSets/stream")
+    public ResponseEntity<StreamingResponseBody> streamAddedSets(@RequestParam int userId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                 @RequestParam(required = false) Integer userExcerciseId,
+                                                                 WebRequest request){
+        try{
+            String eTag = userDataVersionTracker.eTag(userId);
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            StreamingResponseBody body = outputStream -> userWorkoutExcerciseService.streamAddedSets(
+                    userId, userExcerciseId, from, to, cursor, limit != null ? Math.max(1, limit) : null, outputStream);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e){
+            return ResponseEntityUtils.createStreamingErrorResponse("Error retrieving added sets.");
+        }
+    }
+
     @DeleteMapping("/deleteSet/{userWorkoutExerciseId}")
     public ResponseEntity<?> deleteExerciseSet(@PathVariable int userWorkoutExerciseId) {
         try {
@@ -1,12 +1,16 @@
 package com.workout.tracker.controllers;
 
+import com.workout.tracker.services.WorkoutCatalog;
 import com.workout.tracker.services.WorkoutService;
 
 import com.workout.tracker.utils.ResponseEntityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @CrossOrigin
@@ -31,7 +35,19 @@ public class WorkoutController {
     }
 
     @GetMapping("/workouts")
-    public ResponseEntity<?> getListOfWorkouts(){
-        return ResponseEntityUtils.createSuccessResponse(workoutService.getAllWorkouts(),"Successfully fetched records!");
+    public ResponseEntity<?> getListOfWorkouts(WebRequest request){
+        try {
+            WorkoutCatalog catalog = workoutService.getCatalog();
+            if (request.checkNotModified(catalog.getETag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(catalog.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(catalog.getResponseJson());
+        } catch (Exception e) {
+            return ResponseEntityUtils.createErrorResponse("Error retrieving workouts!");
+        }
     }
 }
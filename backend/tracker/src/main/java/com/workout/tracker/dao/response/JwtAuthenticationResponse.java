@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JwtAuthenticationResponse {
     private String token;
+    private String refreshToken;
     private Integer userId;
     private String userName;
     private String emailId;
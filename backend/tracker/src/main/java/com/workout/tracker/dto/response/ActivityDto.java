@@ -0,0 +1,23 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActivityDto {
+    private int currentStreak;
+    private int longestStreak;
+    private int activeDaysLast30;
+    /**
+     * Whether each day of the current week, Monday first, has a logged set.
+     */
+    private List<Boolean> currentWeek;
+    private List<ActivityWeekDto> weeks;
+}
@@ -0,0 +1,17 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActivityWeekDto {
+    private LocalDate weekStart;
+    private int activeDays;
+}
@@ -0,0 +1,21 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDayDto {
+    private LocalDate date;
+    private long volume;
+    /**
+     * Volume relative to the busiest day of the week, 0-100.
+     */
+    private int percentage;
+}
@@ -0,0 +1,40 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard shows, computed in one request. A field is null when its component
+ * failed or missed its deadline; the component is then listed in {@code unavailable}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDto {
+    /**
+     * Days of the current ISO week with at least one logged set.
+     */
+    private Integer workoutsThisWeek;
+    private Long totalVolumeThisWeek;
+    /**
+     * Personal records set in the last 30 days.
+     */
+    private Integer personalRecordsCount;
+    private Integer currentStreak;
+    private Integer longestStreak;
+    /**
+     * The current ISO week, Monday first.
+     */
+    private List<DashboardDayDto> weeklyActivity;
+    /**
+     * Active days this month against the monthly goal, 0-100.
+     */
+    private Integer monthlyProgress;
+    private List<RecentWorkoutDto> recentWorkouts;
+    private List<String> unavailable;
+}
@@ -0,0 +1,29 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExercisePerformanceDto {
+    private int userExcerciseId;
+    private String workoutName;
+    private String exerciseName;
+    private long totalSets;
+    private long totalReps;
+    private long totalVolume;
+    private double avgWeight;
+    private double avgReps;
+    private int maxWeight;
+    private int maxReps;
+    private double bestEstimatedOneRepMax;
+    private LocalDate firstPerformed;
+    private LocalDate lastPerformed;
+    private int daysPerformed;
+}
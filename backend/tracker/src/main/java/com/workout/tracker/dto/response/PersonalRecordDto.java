@@ -0,0 +1,28 @@
+package com.workout.tracker.dto.response;
+
+import com.workout.tracker.entities.PersonalRecordType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonalRecordDto {
+    private int userExcerciseId;
+    private PersonalRecordType recordType;
+    private double value;
+    private int weight;
+    private int reps;
+    private Integer userWorkoutExcerciseId;
+    private LocalDateTime achievedAt;
+    /**
+     * Value of the record this one replaced; null when it is the first record of its kind. Only set
+     * on records returned from ingestion.
+     */
+    private Double previousValue;
+}
@@ -0,0 +1,31 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlateauDto {
+    private int userExcerciseId;
+    private String exerciseName;
+    private LocalDate lastProgressDate;
+    private int peakWeight;
+    private double peakEstimatedOneRepMax;
+    private long daysSinceProgress;
+    private String suggestion;
+
+    public PlateauDto(int userExcerciseId, String exerciseName, LocalDate lastProgressDate, int peakWeight,
+                      double peakEstimatedOneRepMax) {
+        this.userExcerciseId = userExcerciseId;
+        this.exerciseName = exerciseName;
+        this.lastProgressDate = lastProgressDate;
+        this.peakWeight = peakWeight;
+        this.peakEstimatedOneRepMax = peakEstimatedOneRepMax;
+    }
+}
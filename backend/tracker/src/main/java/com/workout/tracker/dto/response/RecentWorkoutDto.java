@@ -0,0 +1,22 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Sets logged for one workout on one day.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecentWorkoutDto {
+    private String workoutName;
+    private LocalDate date;
+    private long volume;
+    private long setCount;
+}
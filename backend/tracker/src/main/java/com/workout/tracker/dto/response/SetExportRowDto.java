@@ -0,0 +1,21 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetExportRowDto {
+    private LocalDateTime dateTime;
+    private String workoutName;
+    private String exerciseName;
+    private int setNumber;
+    private int weight;
+    private int reps;
+}
@@ -0,0 +1,32 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetImportResponseDto {
+    private String importId;
+    private long rowsRead;
+    /**
+     * Rows committed by an earlier attempt of the same import and skipped this time.
+     */
+    private long rowsResumed;
+    private long rowsImported;
+    private long rowsRejected;
+    private int exercisesCreated;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    /**
+     * The first rejected rows, capped by {@code sets.import.max-errors}.
+     */
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetImportStatusDto {
+    private String importId;
+    private long rowsCommitted;
+    private long rowsImported;
+    private boolean completed;
+    private LocalDateTime updatedAt;
+}
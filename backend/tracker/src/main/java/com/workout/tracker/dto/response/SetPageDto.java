@@ -0,0 +1,21 @@
+package com.workout.tracker.dto.response;
+
+import com.workout.tracker.dto.request.UserWorkoutExerciseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetPageDto {
+    private List<UserWorkoutExerciseDTO> items;
+    /**
+     * Opaque cursor for the next (older) page, or null when this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetUploadChunkResultDto {
+    public static final String COMMITTED = "COMMITTED";
+    public static final String FAILED = "FAILED";
+
+    private int chunk;
+    private long firstRow;
+    private long lastRow;
+    private int savedCount;
+    private String status;
+    private String error;
+    @Builder.Default
+    private List<PersonalRecordDto> newPersonalRecords = new ArrayList<>();
+}
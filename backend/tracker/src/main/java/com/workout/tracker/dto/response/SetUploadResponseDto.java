@@ -0,0 +1,22 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetUploadResponseDto {
+    private long rowsRead;
+    private long rowsSaved;
+    private int chunksCommitted;
+    private int chunksFailed;
+    @Builder.Default
+    private List<SetUploadChunkResultDto> chunks = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetsAddedResponseDto {
+    private int savedCount;
+    /**
+     * True when the sets were accepted into the write-behind journal; personal records are then
+     * updated when the journal drains and are not reported here.
+     */
+    private boolean journaled;
+    @Builder.Default
+    private List<PersonalRecordDto> newPersonalRecords = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VolumePointDto {
+    /**
+     * First day of the bucket.
+     */
+    private LocalDate date;
+    private long volume;
+    private int setCount;
+}
@@ -0,0 +1,20 @@
+package com.workout.tracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeeklyVolumeTrendDto {
+    private LocalDate weekStart;
+    private int workoutsCount;
+    private long totalVolume;
+    private long totalSets;
+    private int uniqueExercises;
+}
@@ -0,0 +1,64 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * Per-exercise, per-day aggregate of logged sets, kept up to date as sets are added and deleted.
+ */
+@Entity
+@Table(name = "EXERCISE_DAILY_SUMMARY", indexes = @Index(name = "idx_exercise_daily_summary_user_date", columnList = "user_id, summary_date"))
+@IdClass(ExerciseDailySummaryId.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ExerciseDailySummary implements Persistable<ExerciseDailySummaryId> {
+
+    @Id
+    @Column(name = "user_excercise_id")
+    private int userExcerciseId;
+
+    @Id
+    @Column(name = "summary_date")
+    private LocalDate summaryDate;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    private double bestEstimatedOneRepMax;
+    private int topSetWeight;
+    private int topSetReps;
+    private long volume;
+    private int setCount;
+    private long totalReps;
+    private long totalWeight;
+    private int maxReps;
+
+    // Lets saveAll persist new rows directly instead of merging, which would select each one first.
+    @Transient
+    @Builder.Default
+    private boolean newSummary = true;
+
+    @Override
+    public ExerciseDailySummaryId getId() {
+        return new ExerciseDailySummaryId(userExcerciseId, summaryDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newSummary;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newSummary = false;
+    }
+}
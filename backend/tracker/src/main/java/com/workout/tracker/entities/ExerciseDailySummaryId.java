@@ -0,0 +1,16 @@
+package com.workout.tracker.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseDailySummaryId implements Serializable {
+    private int userExcerciseId;
+    private LocalDate summaryDate;
+}
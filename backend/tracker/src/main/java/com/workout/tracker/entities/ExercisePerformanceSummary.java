@@ -0,0 +1,63 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lifetime totals of one exercise, folded from its daily summaries whenever the summary outbox
+ * reports a change to it.
+ */
+@Entity
+@Table(name = "EXERCISE_PERFORMANCE_SUMMARY", indexes = @Index(name = "idx_exercise_performance_user", columnList = "user_id"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ExercisePerformanceSummary implements Persistable<Integer> {
+
+    @Id
+    @Column(name = "user_excercise_id")
+    private int userExcerciseId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    private long totalSets;
+    private long totalReps;
+    private long totalVolume;
+    private long totalWeight;
+    private int maxWeight;
+    private int maxReps;
+    private double bestEstimatedOneRepMax;
+    private LocalDate firstPerformed;
+    private LocalDate lastPerformed;
+    private int daysPerformed;
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newSummary = true;
+
+    @Override
+    public Integer getId() {
+        return userExcerciseId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newSummary;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newSummary = false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job, held by at most one instance until it is released or expires.
+ */
+@Entity
+@Table(name = "JOB_LOCK")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,52 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "PERSONAL_RECORD", uniqueConstraints = @UniqueConstraint(
+        name = "uk_personal_record", columnNames = {"user_excercise_id", "record_type", "weight_key"}))
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PersonalRecord {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "personal_record_id")
+    private int personalRecordId;
+
+    @Column(name = "user_excercise_id")
+    private int userExcerciseId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", length = 32)
+    private PersonalRecordType recordType;
+
+    /**
+     * The weight for {@link PersonalRecordType#MOST_REPS_AT_WEIGHT}, zero for every other type.
+     */
+    @Column(name = "weight_key")
+    private int weightKey;
+
+    @Column(name = "record_value")
+    private double value;
+    private int weight;
+    private int reps;
+
+    /**
+     * The set that holds the record; null for session volume, which belongs to a whole day.
+     */
+    private Integer userWorkoutExcerciseId;
+
+    private LocalDateTime achievedAt;
+}
@@ -0,0 +1,8 @@
+package com.workout.tracker.entities;
+
+public enum PersonalRecordType {
+    HEAVIEST_WEIGHT,
+    MOST_REPS_AT_WEIGHT,
+    BEST_ESTIMATED_ONE_REP_MAX,
+    BEST_SESSION_VOLUME
+}
@@ -0,0 +1,57 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An exercise whose top weight and estimated 1RM have not improved for the configured number of
+ * days, as found by the last plateau detection run.
+ */
+@Entity
+@Table(name = "PLATEAU", indexes = @Index(name = "idx_plateau_user", columnList = "user_id"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class Plateau implements Persistable<Integer> {
+
+    @Id
+    @Column(name = "user_excercise_id")
+    private int userExcerciseId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    private LocalDate lastProgressDate;
+    private int peakWeight;
+    private double peakEstimatedOneRepMax;
+    private LocalDateTime detectedAt;
+
+    // Rows are always rewritten after a bulk delete, so saveAll can persist without selecting first.
+    @Transient
+    @Builder.Default
+    private boolean newPlateau = true;
+
+    @Override
+    public Integer getId() {
+        return userExcerciseId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newPlateau;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newPlateau = false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "REFRESH_TOKEN", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "refresh_token_id")
+    private long refreshTokenId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
+
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    private LocalDateTime expiresAt;
+
+    private boolean used;
+}
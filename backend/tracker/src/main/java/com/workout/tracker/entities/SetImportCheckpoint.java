@@ -0,0 +1,66 @@
+package com.workout.tracker.entities;
+
+import org.springframework.data.domain.Persistable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a CSV import has been committed, so a retried upload of the same file skips the rows
+ * that are already stored.
+ */
+@Entity
+@Table(name = "SET_IMPORT_CHECKPOINT")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class SetImportCheckpoint implements Persistable<String> {
+
+    @Id
+    @Column(name = "import_id", length = 64)
+    private String importId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    /**
+     * Data rows, after the header, covered by committed chunks, including rejected ones.
+     */
+    private long rowsCommitted;
+    private long rowsImported;
+    private boolean completed;
+    private LocalDateTime updatedAt;
+
+    // Lets a new checkpoint be inserted rather than merged, so a concurrent first upload of the same
+    // import fails on the primary key instead of overwriting the other's row.
+    @Transient
+    @Builder.Default
+    private boolean newCheckpoint = true;
+
+    @Override
+    public String getId() {
+        return importId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newCheckpoint;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newCheckpoint = false;
+    }
+}
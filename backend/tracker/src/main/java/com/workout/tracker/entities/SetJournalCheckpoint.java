@@ -0,0 +1,25 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "SET_JOURNAL_CHECKPOINT")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class SetJournalCheckpoint {
+
+    @Id
+    @Column(name = "journal_id")
+    private String journalId;
+
+    private long lastSequence;
+}
@@ -0,0 +1,40 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A journal record the drainer gave up inserting, kept with its sets as JSON and the error, so it can
+ * be inspected and replayed by hand without holding up the rest of the journal.
+ */
+@Entity
+@Table(name = "SET_JOURNAL_DEAD_LETTER")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SetJournalDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "set_journal_dead_letter_seq")
+    @SequenceGenerator(name = "set_journal_dead_letter_seq", sequenceName = "SET_JOURNAL_DEAD_LETTER_SEQ", allocationSize = 50)
+    private long deadLetterId;
+
+    @Column(name = "journal_id")
+    private String journalId;
+
+    private long journalSequence;
+
+    @Column(columnDefinition = "text")
+    private String entries;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime createdAt;
+}
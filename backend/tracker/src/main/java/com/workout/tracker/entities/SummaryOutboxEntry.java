@@ -0,0 +1,37 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A change to one exercise's sets on one day, written in the transaction that made it and removed
+ * once the performance summaries have caught up with it.
+ */
+@Entity
+@Table(name = "SUMMARY_OUTBOX")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SummaryOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "summary_outbox_seq")
+    @SequenceGenerator(name = "summary_outbox_seq", sequenceName = "SUMMARY_OUTBOX_SEQ", allocationSize = 50)
+    private long outboxId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    @Column(name = "user_excercise_id")
+    private int userExcerciseId;
+
+    private LocalDate summaryDate;
+    private LocalDateTime createdAt;
+}
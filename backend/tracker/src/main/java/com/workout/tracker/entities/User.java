@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -16,6 +18,8 @@ import java.util.Collection;
 @NoArgsConstructor
 @Entity
 @Table(name = "User_Details")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements UserDetails {
 
     @Id
@@ -29,6 +33,8 @@ public class User implements UserDetails {
 
     private String password;
 
+    private int tokenVersion;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return null;
@@ -0,0 +1,34 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counter of committed writes to a user's exercises, custom workouts and sets. Kept apart from
+ * {@link User} so bumping it on every write does not evict the cached user.
+ */
+@Entity
+@Table(name = "USER_DATA_VERSION")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -16,14 +16,19 @@ import java.time.LocalDateTime;
 @Builder
 public class UserWorkoutExcercise {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_workout_excercise_seq")
+    @SequenceGenerator(name = "user_workout_excercise_seq", sequenceName = "USER_X_WORKOUT_X_EXCERCISE_SEQ", allocationSize = 50)
     private int userWorkoutExcerciseId;
 
     private int setNumber;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="user_excercise_id", referencedColumnName = "user_excercise_id")
     private UserExcercise userExcercise;
 
+    // The owner of userExcercise, kept on the set so per-user reads can use the (user_id, date_time) index.
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
     private int weight;
     private int reps;
     private LocalDateTime dateTime;
@@ -0,0 +1,65 @@
+package com.workout.tracker.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One user's training in one ISO week, folded from the daily summaries of that week whenever the
+ * summary outbox reports a change in it.
+ */
+@Entity
+@Table(name = "WEEKLY_VOLUME_TREND")
+@IdClass(WeeklyVolumeTrendId.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class WeeklyVolumeTrend implements Persistable<WeeklyVolumeTrendId> {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    /**
+     * Monday of the week.
+     */
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    /**
+     * Days of the week with at least one logged set.
+     */
+    private int workoutsCount;
+    private long totalVolume;
+    private long totalSets;
+    private int uniqueExercises;
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newTrend = true;
+
+    @Override
+    public WeeklyVolumeTrendId getId() {
+        return new WeeklyVolumeTrendId(userId, weekStart);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newTrend;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newTrend = false;
+    }
+}
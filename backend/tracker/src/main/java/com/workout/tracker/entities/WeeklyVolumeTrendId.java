@@ -0,0 +1,16 @@
+package com.workout.tracker.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyVolumeTrendId implements Serializable {
+    private int userId;
+    private LocalDate weekStart;
+}
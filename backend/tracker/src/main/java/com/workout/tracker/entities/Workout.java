@@ -5,9 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name="Workout")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workouts")
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,18 @@
+package com.workout.tracker.events;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of one stored set, carried by set events so listeners never reload the row.
+ */
+@Value
+public class LoggedSet {
+    int userWorkoutExcerciseId;
+    int userId;
+    int userExcerciseId;
+    int weight;
+    int reps;
+    LocalDateTime dateTime;
+}
@@ -0,0 +1,11 @@
+package com.workout.tracker.events;
+
+import lombok.Value;
+
+/**
+ * Published inside the transaction that deletes the set, after the delete has been issued.
+ */
+@Value
+public class SetDeletedEvent {
+    LoggedSet set;
+}
@@ -0,0 +1,13 @@
+package com.workout.tracker.events;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that inserts the sets.
+ */
+@Value
+public class SetsAddedEvent {
+    List<LoggedSet> sets;
+}
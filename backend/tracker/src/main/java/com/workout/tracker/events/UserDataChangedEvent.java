@@ -0,0 +1,16 @@
+package com.workout.tracker.events;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published when users' data may have changed without this instance seeing the write: a write through
+ * another instance, or a user whose data version this instance is about to serve for the first time.
+ * Listeners refresh any per-instance state derived from those users' data; they run before the new
+ * version is served, so a tag is never newer than the state behind it.
+ */
+@Value
+public class UserDataChangedEvent {
+    Set<Integer> userIds;
+}
@@ -0,0 +1,8 @@
+package com.workout.tracker.events;
+
+import lombok.Value;
+
+@Value
+public class WorkoutAddedEvent {
+    int workoutId;
+}
@@ -0,0 +1,14 @@
+package com.workout.tracker.journal;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class JournalEntry {
+    int userExcerciseId;
+    int setNumber;
+    int weight;
+    int reps;
+    LocalDateTime dateTime;
+}
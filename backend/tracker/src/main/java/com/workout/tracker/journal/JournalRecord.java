@@ -0,0 +1,15 @@
+package com.workout.tracker.journal;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class JournalRecord {
+    long sequence;
+    List<JournalEntry> entries;
+    /**
+     * Journal position just past this record; checkpointing here marks the record as drained.
+     */
+    int endPosition;
+}
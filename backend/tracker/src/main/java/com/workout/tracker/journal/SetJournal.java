@@ -0,0 +1,323 @@
+package com.workout.tracker.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only ring journal of logged sets in a memory-mapped file.
+ * <p>
+ * Layout: a fixed header holding the drained position and sequence, followed by records of
+ * {@code [int payloadLength][int crc][long sequence][int count][count x entry]}. A record that does
+ * not fit before the end of the file is preceded by a wrap marker and written at the start of the
+ * data region. Sequences increase by one per record, so on recovery a stale record left over from
+ * a previous lap, or a torn write, ends the scan.
+ * <p>
+ * {@link #append} returns only after the record has been forced to disk; concurrent appenders share
+ * a single force. Space is reused only after {@link #checkpoint} has made the new drained position
+ * durable, so a crash never loses an acknowledged record.
+ */
+@Slf4j
+public class SetJournal implements Closeable {
+
+    private static final int MAGIC = 0x534A524E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int DRAINED_POSITION_OFFSET = 8;
+    private static final int DRAINED_SEQUENCE_OFFSET = 16;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 24;
+    private static final int WRAP_MARKER = -1;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Duration fullTimeout;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition spaceAvailable = appendLock.newCondition();
+    private final Condition appended = appendLock.newCondition();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    private volatile int writePosition;
+    private volatile long lastSequence;
+    private volatile int drainedPosition;
+    private volatile long drainedSequence;
+    private int forcedPosition;
+    private volatile long forcedSequence;
+
+    public SetJournal(Path path, int size, Duration fullTimeout) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean exists = Files.exists(path) && Files.size(path) > HEADER_SIZE;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // An existing journal keeps its original size: wrap positions depend on it.
+        this.capacity = exists ? (int) channel.size() : size;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.fullTimeout = fullTimeout;
+        if (exists) {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a set journal: " + path);
+            }
+            recover();
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            writeHeader(HEADER_SIZE, 0);
+            drainedPosition = HEADER_SIZE;
+            writePosition = HEADER_SIZE;
+        }
+        forcedPosition = writePosition;
+        forcedSequence = lastSequence;
+    }
+
+    /**
+     * Appends one record and blocks until it is durable.
+     *
+     * @return the sequence assigned to the record
+     * @throws IllegalStateException if the journal stays full for longer than the configured timeout
+     */
+    public long append(List<JournalEntry> entries) {
+        int payloadLength = 4 + entries.size() * ENTRY_SIZE;
+        int recordSize = RECORD_HEADER_SIZE + payloadLength;
+        if (recordSize >= capacity - HEADER_SIZE) {
+            throw new IllegalArgumentException("Batch of " + entries.size() + " sets does not fit in the journal");
+        }
+        long sequence;
+        appendLock.lock();
+        try {
+            int position = reserve(recordSize);
+            sequence = lastSequence + 1;
+            int index = position + 8;
+            buffer.putLong(index, sequence);
+            index += 8;
+            buffer.putInt(index, entries.size());
+            index += 4;
+            for (JournalEntry entry : entries) {
+                buffer.putInt(index, entry.getUserExcerciseId());
+                buffer.putInt(index + 4, entry.getSetNumber());
+                buffer.putInt(index + 8, entry.getWeight());
+                buffer.putInt(index + 12, entry.getReps());
+                buffer.putLong(index + 16, ChronoUnit.MICROS.between(EPOCH, entry.getDateTime()));
+                index += ENTRY_SIZE;
+            }
+            buffer.putInt(position + 4, checksum(position, payloadLength));
+            buffer.putInt(position, payloadLength);
+            writePosition = position + recordSize;
+            lastSequence = sequence;
+        } finally {
+            appendLock.unlock();
+        }
+        forceThrough(sequence);
+        return sequence;
+    }
+
+    /**
+     * Reads whole records starting at {@code position} until at least {@code maxEntries} entries
+     * have been collected or the end of the journal is reached.
+     */
+    public List<JournalRecord> read(int position, long afterSequence, int maxEntries) {
+        List<JournalRecord> records = new ArrayList<>();
+        int entryCount = 0;
+        long expectedSequence = afterSequence + 1;
+        while (entryCount < maxEntries && expectedSequence <= forcedSequence) {
+            position = skipWrap(position);
+            int payloadLength = buffer.getInt(position);
+            int count = buffer.getInt(position + RECORD_HEADER_SIZE);
+            int index = position + RECORD_HEADER_SIZE + 4;
+            List<JournalEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++, index += ENTRY_SIZE) {
+                entries.add(new JournalEntry(buffer.getInt(index), buffer.getInt(index + 4), buffer.getInt(index + 8),
+                        buffer.getInt(index + 12), EPOCH.plus(buffer.getLong(index + 16), ChronoUnit.MICROS)));
+            }
+            position += RECORD_HEADER_SIZE + payloadLength;
+            records.add(new JournalRecord(expectedSequence, entries, position));
+            entryCount += count;
+            expectedSequence++;
+        }
+        return records;
+    }
+
+    /**
+     * Marks every record up to and including {@code sequence} as drained. The header is forced
+     * before the space is handed back to appenders.
+     */
+    public void checkpoint(int position, long sequence) {
+        writeHeader(position, sequence);
+        buffer.force(0, HEADER_SIZE);
+        appendLock.lock();
+        try {
+            drainedPosition = position;
+            drainedSequence = sequence;
+            spaceAvailable.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a record after {@code sequence} is durable, or the timeout elapses.
+     */
+    public void awaitAppend(long sequence, Duration timeout) throws InterruptedException {
+        if (forcedSequence > sequence) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            if (forcedSequence <= sequence) {
+                appended.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void wakeUp() {
+        appendLock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public int getDrainedPosition() {
+        return drainedPosition;
+    }
+
+    public long getDrainedSequence() {
+        return drainedSequence;
+    }
+
+    public long getLastSequence() {
+        return forcedSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int reserve(int recordSize) {
+        long deadline = System.nanoTime() + fullTimeout.toNanos();
+        while (true) {
+            int write = writePosition;
+            int drained = drainedPosition;
+            if (write >= drained) {
+                if (write + recordSize <= capacity) {
+                    return write;
+                }
+                if (HEADER_SIZE + recordSize < drained) {
+                    if (write + 4 <= capacity) {
+                        buffer.putInt(write, WRAP_MARKER);
+                    }
+                    return HEADER_SIZE;
+                }
+            } else if (write + recordSize < drained) {
+                return write;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Set journal is full");
+            }
+            try {
+                spaceAvailable.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for journal space", e);
+            }
+        }
+    }
+
+    private void forceThrough(long sequence) {
+        if (forcedSequence >= sequence) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (forcedSequence >= sequence) {
+                return;
+            }
+            int end;
+            long endSequence;
+            appendLock.lock();
+            try {
+                end = writePosition;
+                endSequence = lastSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            int start = forcedPosition;
+            if (end >= start) {
+                buffer.force(start, end - start);
+            } else {
+                buffer.force(start, capacity - start);
+                buffer.force(HEADER_SIZE, end - HEADER_SIZE);
+            }
+            forcedPosition = end;
+            forcedSequence = endSequence;
+        } finally {
+            forceLock.unlock();
+        }
+        wakeUp();
+    }
+
+    private void recover() {
+        drainedPosition = (int) buffer.getLong(DRAINED_POSITION_OFFSET);
+        drainedSequence = buffer.getLong(DRAINED_SEQUENCE_OFFSET);
+        int position = drainedPosition;
+        long expectedSequence = drainedSequence + 1;
+        while (true) {
+            int recordPosition = skipWrap(position);
+            int payloadLength = buffer.getInt(recordPosition);
+            if (payloadLength < 4 || recordPosition + RECORD_HEADER_SIZE + payloadLength > capacity
+                    || buffer.getLong(recordPosition + 8) != expectedSequence
+                    || buffer.getInt(recordPosition + 4) != checksum(recordPosition, payloadLength)) {
+                break;
+            }
+            position = recordPosition + RECORD_HEADER_SIZE + payloadLength;
+            expectedSequence++;
+        }
+        writePosition = position;
+        lastSequence = expectedSequence - 1;
+        if (lastSequence > drainedSequence) {
+            log.info("Recovered {} undrained set journal records", lastSequence - drainedSequence);
+        }
+    }
+
+    private int skipWrap(int position) {
+        if (position + RECORD_HEADER_SIZE > capacity || buffer.getInt(position) == WRAP_MARKER) {
+            return HEADER_SIZE;
+        }
+        return position;
+    }
+
+    private int checksum(int position, int payloadLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, 8 + payloadLength));
+        return (int) crc.getValue();
+    }
+
+    private void writeHeader(int position, long sequence) {
+        buffer.putLong(DRAINED_POSITION_OFFSET, position);
+        buffer.putLong(DRAINED_SEQUENCE_OFFSET, sequence);
+    }
+}
@@ -0,0 +1,188 @@
+package com.workout.tracker.journal;
+
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background writer that drains the set journal into the database in large batches. Each batch is
+ * committed together with the journal sequence it covers, so replaying after a crash skips records
+ * the database already holds instead of inserting them twice.
+ * <p>
+ * A batch that keeps failing is retried record by record, and a record that then fails for a reason
+ * other than the database being unavailable is moved to the dead-letter table, so one bad record
+ * cannot stall the journal until it fills.
+ */
+@Component
+@ConditionalOnProperty(name = "sets.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class SetJournalDrainer {
+
+    private final SetJournal journal;
+    private final UserWorkoutExcerciseService userWorkoutExcerciseService;
+    private final String journalId;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int maxAttempts;
+    private final Counter deadLetters;
+
+    private volatile boolean running;
+    private int failedAttempts;
+    private Thread worker;
+
+    public SetJournalDrainer(SetJournal journal, UserWorkoutExcerciseService userWorkoutExcerciseService,
+                             @Value("${sets.write-behind.journal-id:default}") String journalId,
+                             @Value("${sets.write-behind.batch-size:1000}") int batchSize,
+                             @Value("${sets.write-behind.flush-interval:50ms}") Duration flushInterval,
+                             @Value("${sets.write-behind.max-attempts:5}") int maxAttempts,
+                             MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.userWorkoutExcerciseService = userWorkoutExcerciseService;
+        this.journalId = journalId;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxAttempts = maxAttempts;
+        this.deadLetters = Counter.builder("sets.write-behind.dead.letters").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "set-journal-drainer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        journal.wakeUp();
+        if (worker != null) {
+            worker.join(Duration.ofSeconds(30).toMillis());
+        }
+    }
+
+    private void run() {
+        long committedSequence = userWorkoutExcerciseService.getJournalCheckpoint(journalId);
+        log.info("Draining set journal '{}' from sequence {}", journalId, Math.max(committedSequence, journal.getDrainedSequence()));
+        while (true) {
+            try {
+                if (drainBatch(committedSequence)) {
+                    committedSequence = journal.getDrainedSequence();
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                journal.awaitAppend(journal.getDrainedSequence(), flushInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failedAttempts++;
+                log.error("Failed to drain set journal (attempt {}), retrying", failedAttempts, e);
+                if (!running) {
+                    return;
+                }
+                sleepQuietly(Duration.ofSeconds(1));
+            }
+        }
+    }
+
+    /**
+     * @return whether any records were drained
+     */
+    private boolean drainBatch(long committedSequence) {
+        List<JournalRecord> records = journal.read(journal.getDrainedPosition(), journal.getDrainedSequence(), batchSize);
+        if (records.isEmpty()) {
+            return false;
+        }
+        JournalRecord last = records.get(records.size() - 1);
+        List<JournalEntry> entries = new ArrayList<>();
+        for (JournalRecord record : records) {
+            // Committed to the database before the journal header caught up.
+            if (record.getSequence() > committedSequence) {
+                entries.addAll(record.getEntries());
+            }
+        }
+        if (!entries.isEmpty()) {
+            if (failedAttempts >= maxAttempts) {
+                saveRecordByRecord(records, committedSequence);
+            } else {
+                saveDroppingOrphans(entries, last.getSequence());
+            }
+        }
+        journal.checkpoint(last.getEndPosition(), last.getSequence());
+        failedAttempts = 0;
+        return true;
+    }
+
+    private void saveRecordByRecord(List<JournalRecord> records, long committedSequence) {
+        for (JournalRecord record : records) {
+            if (record.getSequence() <= committedSequence) {
+                continue;
+            }
+            try {
+                saveDroppingOrphans(record.getEntries(), record.getSequence());
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    throw e;
+                }
+                log.error("Moving journal record {} with {} sets to the dead-letter table", record.getSequence(),
+                        record.getEntries().size(), e);
+                userWorkoutExcerciseService.deadLetterJournaledSets(record.getEntries(), journalId, record.getSequence(),
+                        String.valueOf(NestedExceptionUtils.getMostSpecificCause(e)));
+                deadLetters.increment();
+            }
+        }
+    }
+
+    private static boolean isDatabaseUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof TransactionException;
+    }
+
+    private void saveDroppingOrphans(List<JournalEntry> entries, long lastSequence) {
+        try {
+            userWorkoutExcerciseService.saveJournaledSets(entries, journalId, lastSequence);
+        } catch (RuntimeException e) {
+            // Sets were validated on append, but their exercise may have been deleted since.
+            Set<Integer> missingIds = new HashSet<>(userWorkoutExcerciseService.findMissingUserExcerciseIds(
+                    entries.stream().map(JournalEntry::getUserExcerciseId).toList()));
+            if (missingIds.isEmpty()) {
+                throw e;
+            }
+            List<JournalEntry> remaining = entries.stream()
+                    .filter(entry -> !missingIds.contains(entry.getUserExcerciseId()))
+                    .toList();
+            log.warn("Dropping {} journaled sets for deleted exercise(s) {}", entries.size() - remaining.size(), missingIds);
+            userWorkoutExcerciseService.saveJournaledSets(remaining, journalId, lastSequence);
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
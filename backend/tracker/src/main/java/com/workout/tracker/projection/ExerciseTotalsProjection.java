@@ -0,0 +1,18 @@
+package com.workout.tracker.projection;
+
+import java.time.LocalDate;
+
+public interface ExerciseTotalsProjection {
+    int getUserExcerciseId();
+    int getUserId();
+    long getTotalSets();
+    long getTotalReps();
+    long getTotalVolume();
+    long getTotalWeight();
+    int getMaxWeight();
+    int getMaxReps();
+    double getBestEstimatedOneRepMax();
+    LocalDate getFirstPerformed();
+    LocalDate getLastPerformed();
+    long getDaysPerformed();
+}
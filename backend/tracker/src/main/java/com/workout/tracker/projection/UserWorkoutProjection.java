@@ -0,0 +1,6 @@
+package com.workout.tracker.projection;
+
+public interface UserWorkoutProjection {
+    int getUserWorkoutId();
+    String getWorkoutName();
+}
@@ -0,0 +1,8 @@
+package com.workout.tracker.projection;
+
+public interface WeekTotalsProjection {
+    long getActiveDays();
+    long getUniqueExercises();
+    long getTotalVolume();
+    long getTotalSets();
+}
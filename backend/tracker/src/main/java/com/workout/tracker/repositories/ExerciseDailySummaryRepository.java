@@ -0,0 +1,53 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.ExerciseDailySummary;
+import com.workout.tracker.entities.ExerciseDailySummaryId;
+import com.workout.tracker.projection.ExerciseTotalsProjection;
+import com.workout.tracker.projection.WeekTotalsProjection;
+import com.workout.tracker.rollup.DailyVolume;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExerciseDailySummaryRepository extends JpaRepository<ExerciseDailySummary, ExerciseDailySummaryId> {
+
+    /**
+     * Takes no row locks: writers serialize on the exercises through
+     * {@link UserExcerciseRepository#lockAll} before reading the summaries they update.
+     */
+    @Query("select s from ExerciseDailySummary s where s.userExcerciseId in :userExcerciseIds and s.summaryDate in :summaryDates")
+    List<ExerciseDailySummary> findAllByIds(Collection<Integer> userExcerciseIds, Collection<LocalDate> summaryDates);
+
+    /**
+     * Every day with sets of the given users, for rebuilding their in-memory rollups.
+     */
+    @Query("select new com.workout.tracker.rollup.DailyVolume(s.userId, s.userExcerciseId, s.summaryDate, s.volume, " +
+            "cast(s.setCount as long)) from ExerciseDailySummary s where s.userId in :userIds and s.setCount > 0")
+    List<DailyVolume> findDailyVolumes(Collection<Integer> userIds);
+
+    List<ExerciseDailySummary> findByUserIdAndUserExcerciseIdAndSummaryDateBetweenOrderBySummaryDate(
+            int userId, int userExcerciseId, LocalDate from, LocalDate to);
+
+    Optional<ExerciseDailySummary> findFirstByUserExcerciseIdOrderByTopSetWeightDescTopSetRepsDescSummaryDateAsc(int userExcerciseId);
+
+    Optional<ExerciseDailySummary> findFirstByUserExcerciseIdOrderByBestEstimatedOneRepMaxDescSummaryDateAsc(int userExcerciseId);
+
+    Optional<ExerciseDailySummary> findFirstByUserExcerciseIdOrderByVolumeDescSummaryDateAsc(int userExcerciseId);
+
+    @Query("select s.userExcerciseId as userExcerciseId, min(s.userId) as userId, sum(s.setCount) as totalSets, " +
+            "sum(s.totalReps) as totalReps, sum(s.volume) as totalVolume, sum(s.totalWeight) as totalWeight, " +
+            "max(s.topSetWeight) as maxWeight, max(s.maxReps) as maxReps, " +
+            "max(s.bestEstimatedOneRepMax) as bestEstimatedOneRepMax, min(s.summaryDate) as firstPerformed, " +
+            "max(s.summaryDate) as lastPerformed, count(s) as daysPerformed " +
+            "from ExerciseDailySummary s where s.userExcerciseId in :userExcerciseIds group by s.userExcerciseId")
+    List<ExerciseTotalsProjection> sumByExercise(Collection<Integer> userExcerciseIds);
+
+    @Query("select count(distinct s.summaryDate) as activeDays, count(distinct s.userExcerciseId) as uniqueExercises, " +
+            "coalesce(sum(s.volume), 0) as totalVolume, coalesce(sum(s.setCount), 0) as totalSets " +
+            "from ExerciseDailySummary s where s.userId = :userId and s.summaryDate between :from and :to")
+    WeekTotalsProjection sumBetween(int userId, LocalDate from, LocalDate to);
+}
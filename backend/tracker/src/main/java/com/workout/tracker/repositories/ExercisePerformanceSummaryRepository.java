@@ -0,0 +1,20 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.dto.response.ExercisePerformanceDto;
+import com.workout.tracker.entities.ExercisePerformanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ExercisePerformanceSummaryRepository extends JpaRepository<ExercisePerformanceSummary, Integer> {
+
+    @Query("select new com.workout.tracker.dto.response.ExercisePerformanceDto(s.userExcerciseId, ue.workoutName, " +
+            "ue.exerciseName, s.totalSets, s.totalReps, s.totalVolume, cast(s.totalWeight as double) / s.totalSets, " +
+            "cast(s.totalReps as double) / s.totalSets, s.maxWeight, s.maxReps, s.bestEstimatedOneRepMax, " +
+            "s.firstPerformed, s.lastPerformed, s.daysPerformed) " +
+            "from ExercisePerformanceSummary s, UserExcercise ue " +
+            "where ue.userExcerciseId = s.userExcerciseId and s.userId = :userId " +
+            "order by ue.workoutName, ue.exerciseName")
+    List<ExercisePerformanceDto> findByUserId(int userId);
+}
@@ -0,0 +1,29 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Lease times come from the database clock, so instances with skewed clocks agree on expiry.
+ */
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    @Modifying
+    @Query("update JobLock l set l.lockedBy = :owner, l.lockedUntil = local datetime + :ttlSeconds second " +
+            "where l.name = :name and l.lockedUntil < local datetime")
+    int acquireExpired(String name, String owner, long ttlSeconds);
+
+    /**
+     * Creates the job's row with an expired lease, for {@link #acquireExpired} to take.
+     */
+    @Modifying
+    @Query(value = "insert into job_lock (name, locked_until) values (:name, timestamp '1970-01-01 00:00:00') " +
+            "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(String name);
+
+    @Modifying
+    @Query("update JobLock l set l.lockedBy = null, l.lockedUntil = local datetime where l.name = :name and l.lockedBy = :owner")
+    int release(String name, String owner);
+}
@@ -0,0 +1,13 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.PersonalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, Integer> {
+    List<PersonalRecord> findByUserExcerciseIdIn(Collection<Integer> userExcerciseIds);
+
+    List<PersonalRecord> findByUserExcerciseId(int userExcerciseId);
+}
@@ -0,0 +1,22 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.dto.response.PlateauDto;
+import com.workout.tracker.entities.Plateau;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PlateauRepository extends JpaRepository<Plateau, Integer> {
+
+    @Query("select new com.workout.tracker.dto.response.PlateauDto(p.userExcerciseId, ue.exerciseName, " +
+            "p.lastProgressDate, p.peakWeight, p.peakEstimatedOneRepMax) " +
+            "from Plateau p, UserExcercise ue where ue.userExcerciseId = p.userExcerciseId and p.userId = :userId " +
+            "order by p.lastProgressDate")
+    List<PlateauDto> findByUserId(int userId);
+
+    @Modifying
+    @Query("delete from Plateau p where p.userId between :fromUserId and :toUserId")
+    int deleteByUserIdBetween(int fromUserId, int toUserId);
+}
@@ -0,0 +1,28 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteByFamilyId(String familyId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.expiresAt < :cutoff")
+    int deleteExpired(LocalDateTime cutoff);
+}
@@ -0,0 +1,19 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.SetImportCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface SetImportCheckpointRepository extends JpaRepository<SetImportCheckpoint, String> {
+
+    /**
+     * Locks the checkpoint's row until the current transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from SetImportCheckpoint c where c.importId = :importId")
+    Optional<SetImportCheckpoint> findForUpdate(String importId);
+}
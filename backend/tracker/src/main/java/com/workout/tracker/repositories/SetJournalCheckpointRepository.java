@@ -0,0 +1,7 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.SetJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SetJournalCheckpointRepository extends JpaRepository<SetJournalCheckpoint, String> {
+}
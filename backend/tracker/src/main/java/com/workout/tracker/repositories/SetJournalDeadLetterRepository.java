@@ -0,0 +1,10 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.SetJournalDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SetJournalDeadLetterRepository extends JpaRepository<SetJournalDeadLetter, Long> {
+    List<SetJournalDeadLetter> findByJournalId(String journalId);
+}
@@ -0,0 +1,21 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.SummaryOutboxEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SummaryOutboxRepository extends JpaRepository<SummaryOutboxEntry, Long> {
+
+    /**
+     * Oldest pending entries, locked so that a second instance's applier waits for this batch
+     * instead of applying it again.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from SummaryOutboxEntry e order by e.outboxId")
+    List<SummaryOutboxEntry> lockOldest(Limit limit);
+}
@@ -0,0 +1,34 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Integer> {
+
+    @Query("select v.version from UserDataVersion v where v.userId = :userId")
+    Optional<Long> findVersionByUserId(int userId);
+
+    @Query("select v from UserDataVersion v where v.updatedAt > :since")
+    List<UserDataVersion> findChangedSince(LocalDateTime since);
+
+    @Query("select max(v.updatedAt) from UserDataVersion v")
+    Optional<LocalDateTime> findLatestUpdate();
+
+    /**
+     * Update times come from the database clock, so instances with skewed clocks poll consistently.
+     */
+    @Modifying
+    @Query("update UserDataVersion v set v.version = v.version + 1, v.updatedAt = current_timestamp where v.userId = :userId")
+    int incrementVersion(int userId);
+
+    @Modifying
+    @Query(value = "insert into user_data_version (user_id, version, updated_at) values (:userId, 1, current_timestamp)",
+            nativeQuery = true)
+    int insertFirstVersion(int userId);
+}
@@ -0,0 +1,14 @@
+package com.workout.tracker.repositories;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface UserExcerciseOwnerLookup {
+    /**
+     * Resolves exercises through the second-level cache, so ingesting sets for known exercises
+     * does not query the database. Unknown ids are left out of the result.
+     *
+     * @return the owning user id of each existing exercise, keyed by exercise id
+     */
+    Map<Integer, Integer> findOwners(Collection<Integer> userExcerciseIds);
+}
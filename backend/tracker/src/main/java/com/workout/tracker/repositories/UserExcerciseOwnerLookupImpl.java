@@ -0,0 +1,39 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.entities.UserExcercise;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+class UserExcerciseOwnerLookupImpl implements UserExcerciseOwnerLookup {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Integer> findOwners(Collection<Integer> userExcerciseIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(userExcerciseIds));
+        // Checks the second-level cache first and selects only the misses; multi-loads skip it unless a cache mode is set.
+        List<UserExcercise> exercises = entityManager.unwrap(Session.class)
+                .byMultipleIds(UserExcercise.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(ids);
+        Map<Integer, Integer> owners = new HashMap<>();
+        for (UserExcercise exercise : exercises) {
+            if (exercise != null) {
+                // Reading the id of the lazy user proxy does not load the user.
+                owners.put(exercise.getUserExcerciseId(), exercise.getUserId().getUserId());
+            }
+        }
+        return owners;
+    }
+}
@@ -3,12 +3,31 @@ package com.workout.tracker.repositories;
 import com.workout.tracker.entities.User;
 import com.workout.tracker.entities.UserExcercise;
 import com.workout.tracker.projection.UserExerciseProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface UserExcerciseRepository extends JpaRepository<UserExcercise, Integer> {
+public interface UserExcerciseRepository extends JpaRepository<UserExcercise, Integer>, UserExcerciseOwnerLookup {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-exercises-by-user")
+    })
     List<UserExerciseProjection> findByUserId(User userId);
+
+    /**
+     * Row-locks the exercises, in id order, so writers of per-exercise aggregates serialize on the
+     * parent row even when the aggregate row does not exist yet.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select ue from UserExcercise ue where ue.userExcerciseId in :userExcerciseIds order by ue.userExcerciseId")
+    List<UserExcercise> lockAll(Collection<Integer> userExcerciseIds);
 }
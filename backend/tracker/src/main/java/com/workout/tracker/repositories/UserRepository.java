@@ -1,11 +1,40 @@
 package com.workout.tracker.repositories;
 
 import com.workout.tracker.entities.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmailId(String emailId);
+
+    @Query("select u.userId from User u order by u.userId")
+    List<Integer> findAllUserIds();
+
+    /**
+     * Locks the user's row until the current transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.userId from User u where u.userId = :userId")
+    Optional<Integer> lockUserId(int userId);
+
+    @Query("select u.tokenVersion from User u where u.userId = :userId")
+    Optional<Integer> findTokenVersionByUserId(int userId);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.userId = :userId")
+    int incrementTokenVersion(int userId);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.userId = :userId")
+    int updatePassword(int userId, String password);
 }
@@ -1,7 +1,107 @@
 package com.workout.tracker.repositories;
 
+import com.workout.tracker.dto.request.UserWorkoutExerciseDTO;
+import com.workout.tracker.dto.response.RecentWorkoutDto;
+import com.workout.tracker.dto.response.SetExportRowDto;
 import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.rollup.DailyVolume;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserWorkoutExcerciseRepository extends JpaRepository<UserWorkoutExcercise, Integer> {
+
+    String SET_PAGE_QUERY = "select new com.workout.tracker.dto.request.UserWorkoutExerciseDTO(" +
+            "s.userWorkoutExcerciseId, s.setNumber, ue.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "where s.userId = :userId " +
+            "and (:userExcerciseId is null or ue.userExcerciseId = :userExcerciseId) " +
+            "and s.dateTime >= :from " +
+            "and (s.dateTime < :cursorDateTime or (s.dateTime = :cursorDateTime and s.userWorkoutExcerciseId < :cursorId)) " +
+            "order by s.dateTime desc, s.userWorkoutExcerciseId desc";
+
+    @Query("select new com.workout.tracker.events.LoggedSet(s.userWorkoutExcerciseId, ue.userId.userId, " +
+            "ue.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue where s.userWorkoutExcerciseId = :userWorkoutExcerciseId")
+    Optional<LoggedSet> findLoggedSet(int userWorkoutExcerciseId);
+
+    /**
+     * Deletes by the full primary key, so only the partition holding the set is touched.
+     */
+    @Modifying
+    @Query("delete from UserWorkoutExcercise s where s.userWorkoutExcerciseId = :userWorkoutExcerciseId " +
+            "and s.dateTime = :dateTime")
+    int deleteSet(int userWorkoutExcerciseId, LocalDateTime dateTime);
+
+    @Query("select new com.workout.tracker.events.LoggedSet(s.userWorkoutExcerciseId, ue.userId.userId, " +
+            "ue.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "where ue.userExcerciseId = :userExcerciseId and s.dateTime >= :from and s.dateTime < :to")
+    List<LoggedSet> findLoggedSets(int userExcerciseId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select new com.workout.tracker.events.LoggedSet(s.userWorkoutExcerciseId, ue.userId.userId, " +
+            "ue.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "where ue.userExcerciseId = :userExcerciseId and s.weight = :weight and s.reps > 0 " +
+            "order by s.reps desc, s.dateTime asc, s.userWorkoutExcerciseId asc")
+    List<LoggedSet> findMostRepsAtWeight(int userExcerciseId, int weight, Limit limit);
+
+    @Query("select new com.workout.tracker.dto.response.SetExportRowDto(" +
+            "s.dateTime, ue.workoutName, ue.exerciseName, s.setNumber, s.weight, s.reps) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "where s.userId = :userId and s.dateTime >= :from and s.dateTime < :to " +
+            "order by s.dateTime, s.userWorkoutExcerciseId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<SetExportRowDto> streamExportRows(int userId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select new com.workout.tracker.events.LoggedSet(s.userWorkoutExcerciseId, ue.userId.userId, " +
+            "ue.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "where s.userId between :fromUserId and :toUserId and s.dateTime >= :since " +
+            "order by ue.userExcerciseId, s.dateTime")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LoggedSet> streamLoggedSetsOfUsers(int fromUserId, int toUserId, LocalDateTime since);
+
+    @Query("select count(s) > 0 from UserWorkoutExcercise s " +
+            "where s.userId = :userId and s.dateTime >= :from and s.dateTime < :to")
+    boolean existsSetOfUserBetween(int userId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select new com.workout.tracker.rollup.DailyVolume(ue.userId.userId, ue.userExcerciseId, " +
+            "cast(s.dateTime as LocalDate), sum(cast(s.weight as long) * s.reps), count(s)) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue " +
+            "group by ue.userId.userId, ue.userExcerciseId, cast(s.dateTime as LocalDate) " +
+            "order by ue.userExcerciseId, cast(s.dateTime as LocalDate)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<DailyVolume> streamDailyVolumes();
+
+    @Query("select new com.workout.tracker.dto.response.RecentWorkoutDto(ue.workoutName, cast(s.dateTime as LocalDate), " +
+            "sum(cast(s.weight as long) * s.reps), count(s)) " +
+            "from UserWorkoutExcercise s join s.userExcercise ue where s.userId = :userId " +
+            "group by ue.workoutName, cast(s.dateTime as LocalDate) " +
+            "order by cast(s.dateTime as LocalDate) desc, ue.workoutName")
+    List<RecentWorkoutDto> findRecentWorkouts(int userId, Limit limit);
+
+    @Query("select new com.workout.tracker.dto.request.UserWorkoutExerciseDTO(" +
+            "s.userWorkoutExcerciseId, s.setNumber, s.userExcercise.userExcerciseId, s.weight, s.reps, s.dateTime) " +
+            "from UserWorkoutExcercise s")
+    List<UserWorkoutExerciseDTO> findAllSets();
+
+    @Query(SET_PAGE_QUERY)
+    List<UserWorkoutExerciseDTO> findSetPage(int userId, Integer userExcerciseId, LocalDateTime from,
+                                             LocalDateTime cursorDateTime, int cursorId, Limit limit);
+
+    @Query(SET_PAGE_QUERY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserWorkoutExerciseDTO> streamSetPage(int userId, Integer userExcerciseId, LocalDateTime from,
+                                                 LocalDateTime cursorDateTime, int cursorId, Limit limit);
 }
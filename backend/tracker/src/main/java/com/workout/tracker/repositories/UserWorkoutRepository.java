@@ -1,17 +1,30 @@
 package com.workout.tracker.repositories;
 
 import com.workout.tracker.entities.UserWorkout;
+import com.workout.tracker.projection.UserWorkoutProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface UserWorkoutRepository extends JpaRepository<UserWorkout, Integer> {
-    @Query("select u.userWorkoutId, u.workoutName from UserWorkout u where u.userId.userId = :userId")
-    List<Object[]> findByUserId(int userId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-workouts-by-user")
+    })
+    @Query("select u.userWorkoutId as userWorkoutId, u.workoutName as workoutName from UserWorkout u " +
+            "where u.userId.userId = :userId")
+    List<UserWorkoutProjection> findByUserId(int userId);
 
+    /**
+     * A bulk delete: Hibernate evicts the whole UserWorkout entity region and invalidates cached
+     * queries over the table when it runs.
+     */
     @Modifying
     @Transactional
     @Query("delete from UserWorkout u where u.userWorkoutId = :userWorkoutId")
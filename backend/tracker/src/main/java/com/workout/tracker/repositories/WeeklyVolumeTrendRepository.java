@@ -0,0 +1,18 @@
+package com.workout.tracker.repositories;
+
+import com.workout.tracker.dto.response.WeeklyVolumeTrendDto;
+import com.workout.tracker.entities.WeeklyVolumeTrend;
+import com.workout.tracker.entities.WeeklyVolumeTrendId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WeeklyVolumeTrendRepository extends JpaRepository<WeeklyVolumeTrend, WeeklyVolumeTrendId> {
+
+    @Query("select new com.workout.tracker.dto.response.WeeklyVolumeTrendDto(t.weekStart, t.workoutsCount, " +
+            "t.totalVolume, t.totalSets, t.uniqueExercises) from WeeklyVolumeTrend t " +
+            "where t.userId = :userId and t.weekStart between :from and :to order by t.weekStart")
+    List<WeeklyVolumeTrendDto> findByUserId(int userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,18 @@
+package com.workout.tracker.rollup;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Volume and set count of one exercise on one day, as aggregated by the database when the rollup
+ * store is rebuilt.
+ */
+@Value
+public class DailyVolume {
+    int userId;
+    int userExcerciseId;
+    LocalDate date;
+    long volume;
+    long setCount;
+}
@@ -0,0 +1,48 @@
+package com.workout.tracker.rollup;
+
+import java.time.LocalDate;
+
+/**
+ * Bucket sizes for volume rollups. Buckets are identified by the epoch day they start on; weeks
+ * start on Monday.
+ */
+public enum RollupGranularity {
+    DAY {
+        @Override
+        int bucketStart(int epochDay) {
+            return epochDay;
+        }
+
+        @Override
+        int nextBucketStart(int bucketStart) {
+            return bucketStart + 1;
+        }
+    },
+    WEEK {
+        @Override
+        int bucketStart(int epochDay) {
+            // 1970-01-01 was a Thursday, three days after a Monday.
+            return epochDay - Math.floorMod(epochDay + 3, 7);
+        }
+
+        @Override
+        int nextBucketStart(int bucketStart) {
+            return bucketStart + 7;
+        }
+    },
+    MONTH {
+        @Override
+        int bucketStart(int epochDay) {
+            return (int) LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+        }
+
+        @Override
+        int nextBucketStart(int bucketStart) {
+            return (int) LocalDate.ofEpochDay(bucketStart).plusMonths(1).toEpochDay();
+        }
+    };
+
+    abstract int bucketStart(int epochDay);
+
+    abstract int nextBucketStart(int bucketStart);
+}
@@ -0,0 +1,271 @@
+package com.workout.tracker.rollup;
+
+import com.workout.tracker.config.ReplicaRoutingDataSource;
+import com.workout.tracker.dto.response.VolumePointDto;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.SetDeletedEvent;
+import com.workout.tracker.events.SetsAddedEvent;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.utils.IntObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory daily volume series per user and per exercise, for volume-over-time charts.
+ * <p>
+ * The store is rebuilt from the database in one streaming pass before the application starts
+ * serving requests, and then follows committed set changes, so reads never touch the database.
+ * Set changes committed through other instances are not seen here, so a user's series are refolded
+ * from the daily summaries whenever the user's data changed elsewhere. A refold is only applied if
+ * no local change of the user committed, or was about to, while it read.
+ * Every user also has a total series across their exercises, so a user-wide range is a single
+ * binary search as well.
+ */
+@Component
+@Slf4j
+public class VolumeRollupStore implements SmartInitializingSingleton {
+    private static final int MAX_REFOLD_ATTEMPTS = 3;
+
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<UserSeries> users = new IntObjectHashMap<>();
+
+    public VolumeRollupStore(UserWorkoutExcerciseRepository userWorkoutExcerciseRepository,
+                             ExerciseDailySummaryRepository exerciseDailySummaryRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.exerciseDailySummaryRepository = exerciseDailySummaryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Runs once every singleton exists but before the web server and the journal drainer start, so
+     * no set can be committed while the store is loading. Reads the primary, since days a lagging
+     * replica lacks would never be added later.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        int[] rows = new int[1];
+        ReplicaRoutingDataSource.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<DailyVolume> days = userWorkoutExcerciseRepository.streamDailyVolumes()) {
+                lock.writeLock().lock();
+                try {
+                    users.clear();
+                    days.forEach(day -> {
+                        add(day.getUserId(), day.getUserExcerciseId(), (int) day.getDate().toEpochDay(),
+                                day.getVolume(), (int) day.getSetCount());
+                        rows[0]++;
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }));
+        log.info("Loaded {} daily volume rows for {} users in {} ms", rows[0], users.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeSetsAddedCommit(SetsAddedEvent event) {
+        markPending(event.getSets().stream().map(LoggedSet::getUserId).collect(Collectors.toSet()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeSetDeletedCommit(SetDeletedEvent event) {
+        markPending(Set.of(event.getSet().getUserId()));
+    }
+
+    @TransactionalEventListener
+    public void onSetsAdded(SetsAddedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getSets().forEach(set -> add(set, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSetDeleted(SetDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            add(event.getSet(), -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        Set<Integer> userIds = event.getUserIds();
+        for (int attempt = 0; attempt < MAX_REFOLD_ATTEMPTS && !userIds.isEmpty(); attempt++) {
+            userIds = refold(userIds);
+        }
+        if (!userIds.isEmpty()) {
+            log.warn("Volume rollups of {} users left unrefreshed while they keep changing", userIds.size());
+        }
+    }
+
+    /**
+     * @param userExcerciseId the exercise to roll up, or null for all of the user's exercises
+     * @return one point per bucket that has sets, in date order
+     */
+    public List<VolumePointDto> getVolume(int userId, Integer userExcerciseId, LocalDate from, LocalDate to,
+                                          RollupGranularity granularity) {
+        List<VolumePointDto> points = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            UserSeries user = users.get(userId);
+            VolumeSeries series = user == null ? null
+                    : userExcerciseId == null ? user.total : user.exercises.get(userExcerciseId);
+            if (series != null) {
+                series.aggregate((int) from.toEpochDay(), (int) to.toEpochDay(), granularity,
+                        (bucketStartDay, volume, setCount) -> points.add(VolumePointDto.builder()
+                                .date(LocalDate.ofEpochDay(bucketStartDay))
+                                .volume(volume)
+                                .setCount(setCount)
+                                .build()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return points;
+    }
+
+    /**
+     * @return the users whose series changed locally while their summaries were read, and were left as
+     * they are
+     */
+    private Set<Integer> refold(Set<Integer> userIds) {
+        Map<Integer, Long> changesBefore = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            userIds.forEach(userId -> changesBefore.put(userId, changes(users.get(userId))));
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<DailyVolume> days = ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+                status -> exerciseDailySummaryRepository.findDailyVolumes(userIds)));
+        Set<Integer> busy = new HashSet<>();
+        Map<Integer, Long> refolded = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            for (int userId : userIds) {
+                UserSeries user = users.get(userId);
+                // A pending change may already be in what was read, but is only added to the series after this.
+                if (changes(user) != changesBefore.get(userId) || (user != null && user.pending > 0)) {
+                    busy.add(userId);
+                } else {
+                    users.remove(userId);
+                    refolded.put(userId, changes(user));
+                }
+            }
+            for (DailyVolume day : days) {
+                if (refolded.containsKey(day.getUserId())) {
+                    add(day.getUserId(), day.getUserExcerciseId(), (int) day.getDate().toEpochDay(),
+                            day.getVolume(), (int) day.getSetCount());
+                }
+            }
+            refolded.forEach((userId, changes) -> {
+                UserSeries user = users.get(userId);
+                if (user != null) {
+                    user.changes = changes;
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return busy;
+    }
+
+    /**
+     * Counts a local change of each user from before its commit until it has been added, or rolled back.
+     */
+    private void markPending(Set<Integer> userIds) {
+        lock.writeLock().lock();
+        try {
+            userIds.forEach(userId -> userFor(userId).pending++);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.writeLock().lock();
+                try {
+                    userIds.forEach(userId -> {
+                        UserSeries user = userFor(userId);
+                        user.pending--;
+                        user.changes++;
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    private static long changes(UserSeries user) {
+        return user == null ? 0 : user.changes;
+    }
+
+    private void add(LoggedSet set, int sign) {
+        add(set.getUserId(), set.getUserExcerciseId(), (int) set.getDateTime().toLocalDate().toEpochDay(),
+                sign * (long) set.getWeight() * set.getReps(), sign);
+    }
+
+    private void add(int userId, int userExcerciseId, int epochDay, long volume, int setCount) {
+        UserSeries user = userFor(userId);
+        VolumeSeries exercise = user.exercises.get(userExcerciseId);
+        if (exercise == null) {
+            exercise = new VolumeSeries();
+            user.exercises.put(userExcerciseId, exercise);
+        }
+        exercise.add(epochDay, volume, setCount);
+        user.total.add(epochDay, volume, setCount);
+    }
+
+    private UserSeries userFor(int userId) {
+        UserSeries user = users.get(userId);
+        if (user == null) {
+            user = new UserSeries();
+            users.put(userId, user);
+        }
+        return user;
+    }
+
+    private static class UserSeries {
+        private final VolumeSeries total = new VolumeSeries();
+        private final IntObjectHashMap<VolumeSeries> exercises = new IntObjectHashMap<>();
+        /**
+         * Local changes added so far, and those committing but not yet added.
+         */
+        private long changes;
+        private int pending;
+    }
+}
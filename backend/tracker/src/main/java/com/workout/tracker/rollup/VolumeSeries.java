@@ -0,0 +1,96 @@
+package com.workout.tracker.rollup;
+
+import java.util.Arrays;
+
+/**
+ * Daily volume and set count of one series, stored column-wise in parallel primitive arrays sorted by
+ * epoch day so a range is found by binary search and summed without touching any object. Not
+ * thread-safe.
+ */
+public class VolumeSeries {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] days = new int[INITIAL_CAPACITY];
+    private long[] volumes = new long[INITIAL_CAPACITY];
+    private int[] setCounts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds to the day's totals; negative amounts subtract, and a day left without sets is dropped.
+     */
+    public void add(int epochDay, long volume, int setCount) {
+        int i = Arrays.binarySearch(days, 0, size, epochDay);
+        if (i >= 0) {
+            volumes[i] += volume;
+            setCounts[i] += setCount;
+            if (setCounts[i] <= 0) {
+                removeAt(i);
+            }
+            return;
+        }
+        if (setCount <= 0) {
+            return;
+        }
+        insertAt(-i - 1, epochDay, volume, setCount);
+    }
+
+    /**
+     * Sums the days in {@code [fromDay, toDay]} into buckets of the given granularity, in day order.
+     */
+    public void aggregate(int fromDay, int toDay, RollupGranularity granularity, BucketConsumer consumer) {
+        int i = lowerBound(fromDay);
+        while (i < size && days[i] <= toDay) {
+            int bucketStart = granularity.bucketStart(days[i]);
+            int nextBucketStart = granularity.nextBucketStart(bucketStart);
+            long volume = 0;
+            int setCount = 0;
+            for (; i < size && days[i] <= toDay && days[i] < nextBucketStart; i++) {
+                volume += volumes[i];
+                setCount += setCounts[i];
+            }
+            consumer.accept(bucketStart, volume, setCount);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int lowerBound(int epochDay) {
+        int i = Arrays.binarySearch(days, 0, size, epochDay);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private void insertAt(int i, int epochDay, long volume, int setCount) {
+        if (size == days.length) {
+            int capacity = size + (size >> 1);
+            days = Arrays.copyOf(days, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+            setCounts = Arrays.copyOf(setCounts, capacity);
+        }
+        // Sets are mostly logged today, so this is almost always an append with nothing to move.
+        System.arraycopy(days, i, days, i + 1, size - i);
+        System.arraycopy(volumes, i, volumes, i + 1, size - i);
+        System.arraycopy(setCounts, i, setCounts, i + 1, size - i);
+        days[i] = epochDay;
+        volumes[i] = volume;
+        setCounts[i] = setCount;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(days, i + 1, days, i, size - i - 1);
+        System.arraycopy(volumes, i + 1, volumes, i, size - i - 1);
+        System.arraycopy(setCounts, i + 1, setCounts, i, size - i - 1);
+        size--;
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(int bucketStartDay, long volume, int setCount);
+    }
+}
@@ -1,11 +1,16 @@
 package com.workout.tracker.security;
 
+import com.workout.tracker.dao.request.RefreshTokenRequest;
 import com.workout.tracker.dao.request.SignUpRequest;
 import com.workout.tracker.dao.request.SigninRequest;
 import com.workout.tracker.dao.response.JwtAuthenticationResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthenticationService {
-    JwtAuthenticationResponse signup(SignUpRequest request);
+    CompletableFuture<JwtAuthenticationResponse> signup(SignUpRequest request);
+
+    CompletableFuture<JwtAuthenticationResponse> signin(SigninRequest request);
 
-    JwtAuthenticationResponse signin(SigninRequest request);
-}
\ No newline at end of file
+    JwtAuthenticationResponse refresh(RefreshTokenRequest request);
+}
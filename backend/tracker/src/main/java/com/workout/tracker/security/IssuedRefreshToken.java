@@ -0,0 +1,10 @@
+package com.workout.tracker.security;
+
+import com.workout.tracker.entities.User;
+import lombok.Value;
+
+@Value
+public class IssuedRefreshToken {
+    String token;
+    User user;
+}
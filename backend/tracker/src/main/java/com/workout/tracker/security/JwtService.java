@@ -1,11 +1,17 @@
 package com.workout.tracker.security;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.workout.tracker.entities.User;
 
 public interface JwtService {
     String extractUserName(String token);
 
-    String generateToken(UserDetails userDetails);
+    String generateToken(User user);
 
-    boolean isTokenValid(String token, UserDetails userDetails);
+    /**
+     * Verifies the signature and expiry of the token, parsing it at most once.
+     * Tokens already verified are served from a cache until they expire.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    VerifiedToken verifyToken(String token);
 }
 
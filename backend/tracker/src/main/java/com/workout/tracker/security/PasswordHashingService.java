@@ -0,0 +1,16 @@
+package com.workout.tracker.security;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs BCrypt on a dedicated, bounded pool so that bursts of signups and signins
+ * cannot occupy the request threads serving the rest of the API. When the pool
+ * and its queue are full the returned future fails immediately with
+ * {@link PasswordHashingRejectedException}.
+ */
+public interface PasswordHashingService {
+
+    CompletableFuture<String> encode(String rawPassword);
+
+    CompletableFuture<PasswordVerification> verify(String rawPassword, String encodedPassword);
+}
@@ -0,0 +1,12 @@
+package com.workout.tracker.security;
+
+import lombok.Value;
+
+@Value
+public class PasswordVerification {
+    boolean matched;
+    /**
+     * New hash at the configured cost, set only when the stored hash used a different cost.
+     */
+    String rehashedPassword;
+}
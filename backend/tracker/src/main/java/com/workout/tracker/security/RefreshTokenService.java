@@ -0,0 +1,20 @@
+package com.workout.tracker.security;
+
+import com.workout.tracker.entities.User;
+
+public interface RefreshTokenService {
+
+    /**
+     * Starts a new refresh token family for the user and returns the opaque token.
+     */
+    String issue(User user);
+
+    /**
+     * Consumes the refresh token and issues its successor in the same family.
+     * Presenting a token that was already consumed revokes the whole family and
+     * every access token issued to the user.
+     *
+     * @throws org.springframework.security.authentication.BadCredentialsException if the token is unknown, expired or reused
+     */
+    IssuedRefreshToken rotate(String refreshToken);
+}
@@ -0,0 +1,7 @@
+package com.workout.tracker.security;
+
+public class UserAlreadyRegisteredException extends RuntimeException {
+    public UserAlreadyRegisteredException(String message) {
+        super(message);
+    }
+}
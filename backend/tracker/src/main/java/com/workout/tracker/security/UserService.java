@@ -5,4 +5,15 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 public interface UserService {
 
     UserDetailsService userDetailsService();
+
+    /**
+     * Returns true if tokens issued with the given version are still accepted for the user.
+     * Versions are cached for a short TTL, so a revocation takes effect within that window.
+     */
+    boolean isTokenVersionCurrent(int userId, int tokenVersion);
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    void revokeTokens(int userId);
 }
@@ -0,0 +1,19 @@
+package com.workout.tracker.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+@Builder
+public class VerifiedToken {
+    String subject;
+    Integer userId;
+    int tokenVersion;
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration.getTime() <= System.currentTimeMillis();
+    }
+}
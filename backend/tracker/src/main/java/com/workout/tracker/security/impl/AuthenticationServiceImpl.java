@@ -1,46 +1,82 @@
 package com.workout.tracker.security.impl;
 
+import com.workout.tracker.dao.request.RefreshTokenRequest;
 import com.workout.tracker.dao.request.SignUpRequest;
 import com.workout.tracker.dao.request.SigninRequest;
 import com.workout.tracker.dao.response.JwtAuthenticationResponse;
 import com.workout.tracker.entities.User;
 import com.workout.tracker.repositories.UserRepository;
 import com.workout.tracker.security.AuthenticationService;
+import com.workout.tracker.security.IssuedRefreshToken;
 import com.workout.tracker.security.JwtService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.workout.tracker.security.PasswordHashingService;
+import com.workout.tracker.security.RefreshTokenService;
+import com.workout.tracker.security.UserAlreadyRegisteredException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Hashing runs on the bounded password hashing pool; the database work that follows it is handed to the
+ * application task executor so the hashing threads only ever hash.
+ */
 @Service
-@RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final Executor persistenceExecutor;
+
+    public AuthenticationServiceImpl(UserRepository userRepository, PasswordHashingService passwordHashingService,
+                                     JwtService jwtService, RefreshTokenService refreshTokenService,
+                                     @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor persistenceExecutor) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.persistenceExecutor = persistenceExecutor;
+    }
+
     @Override
-    public JwtAuthenticationResponse signup(SignUpRequest request) {
+    public CompletableFuture<JwtAuthenticationResponse> signup(SignUpRequest request) {
         if(userRepository.findByEmailId(request.getEmail()).isPresent())
-            throw new RuntimeException("Already registered for this emailId");
-        var user = User.builder().name(request.getName())
-                .emailId(request.getEmail()).password(passwordEncoder.encode(request.getPassword()))
-                .build();
-        userRepository.save(user);
-        var jwt = jwtService.generateToken(user);
-        return JwtAuthenticationResponse.builder().token(jwt).userId(user.getUserId()).userName(user.getName()).emailId(user.getEmailId()).build();
+            return CompletableFuture.failedFuture(new UserAlreadyRegisteredException("Already registered for this emailId"));
+        return passwordHashingService.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            var user = User.builder().name(request.getName())
+                    .emailId(request.getEmail()).password(encodedPassword)
+                    .build();
+            userRepository.save(user);
+            return buildResponse(user, refreshTokenService.issue(user));
+        }, persistenceExecutor);
     }
 
     @Override
-    public JwtAuthenticationResponse signin(SigninRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-        var user = userRepository.findByEmailId(request.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid email or password."));
-        var jwt = jwtService.generateToken(user);
-        return JwtAuthenticationResponse.builder().token(jwt).userId(user.getUserId()).userName(user.getName()).emailId(user.getEmailId()).build();
+    public CompletableFuture<JwtAuthenticationResponse> signin(SigninRequest request) {
+        var user = userRepository.findByEmailId(request.getEmail()).orElse(null);
+        if (user == null)
+            return CompletableFuture.failedFuture(new BadCredentialsException("Invalid email or password."));
+        return passwordHashingService.verify(request.getPassword(), user.getPassword()).thenApplyAsync(verification -> {
+            if (!verification.isMatched())
+                throw new BadCredentialsException("Invalid email or password.");
+            if (verification.getRehashedPassword() != null)
+                userRepository.updatePassword(user.getUserId(), verification.getRehashedPassword());
+            return buildResponse(user, refreshTokenService.issue(user));
+        }, persistenceExecutor);
+    }
 
+    @Override
+    public JwtAuthenticationResponse refresh(RefreshTokenRequest request) {
+        IssuedRefreshToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        return buildResponse(rotated.getUser(), rotated.getToken());
+    }
 
+    private JwtAuthenticationResponse buildResponse(User user, String refreshToken) {
+        var jwt = jwtService.generateToken(user);
+        return JwtAuthenticationResponse.builder().token(jwt).refreshToken(refreshToken).userId(user.getUserId()).userName(user.getName()).emailId(user.getEmailId()).build();
     }
-}
\ No newline at end of file
+}
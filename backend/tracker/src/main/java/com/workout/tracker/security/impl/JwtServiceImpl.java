@@ -1,68 +1,109 @@
 package com.workout.tracker.security.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.workout.tracker.entities.User;
 import com.workout.tracker.security.JwtService;
+import com.workout.tracker.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
+
+import static com.workout.tracker.utils.HashUtils.sha256Hex;
 
 @Service
 public class JwtServiceImpl implements JwtService {
-    @Value("${token.signing.key}")
-    private String jwtSigningKey;
-    @Override
-    public String extractUserName(String token) {
-        return extractClaim(token, Claims::getSubject);
+    static final String USER_ID_CLAIM = "userId";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final Duration accessTokenTtl;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtServiceImpl(@Value("${token.signing.key}") String jwtSigningKey,
+                          @Value("${token.access.expiration:15m}") Duration accessTokenTtl,
+                          @Value("${token.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
     }
 
     @Override
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    public String extractUserName(String token) {
+        return verifyToken(token).getSubject();
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getUserId());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolvers.apply(claims);
+    @Override
+    public VerifiedToken verifyToken(String token) {
+        String tokenHash = sha256Hex(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        VerifiedToken verified = VerifiedToken.builder()
+                .subject(claims.getSubject())
+                .userId(claims.get(USER_ID_CLAIM, Integer.class))
+                .tokenVersion(tokenVersion == null ? 0 : tokenVersion)
+                .expiration(claims.getExpiration())
+                .build();
+        if (verified.isExpired()) {
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + claims.getExpiration());
+        }
+        verifiedTokens.put(tokenHash, verified);
+        return verified;
     }
 
-    private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder().setClaims(extraClaims).setSubject(userDetails.getUsername())
+    private String generateToken(Map<String, Object> extraClaims, User user) {
+        return Jwts.builder().setClaims(extraClaims).setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    private static class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token)
-                .getBody();
-    }
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.security.PasswordHashingRejectedException;
+import com.workout.tracker.security.PasswordHashingService;
+import com.workout.tracker.security.PasswordVerification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int bcryptCost;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                                      @Value("${security.password.bcrypt-cost:10}") int bcryptCost,
+                                      @Value("${security.password.hashing.pool-size:0}") int poolSize,
+                                      @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptCost = bcryptCost;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.hash").tag("operation", "verify").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public CompletableFuture<PasswordVerification> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> verifyTimer.record(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new PasswordVerification(false, null);
+            }
+            String rehashed = costOf(encodedPassword) != bcryptCost ? passwordEncoder.encode(rawPassword) : null;
+            return new PasswordVerification(true, rehashed);
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(
+                    new PasswordHashingRejectedException("Password hashing capacity exhausted", e));
+        }
+    }
+
+    private static int costOf(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$<salt+hash>, with the cost as the two digits after the version.
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
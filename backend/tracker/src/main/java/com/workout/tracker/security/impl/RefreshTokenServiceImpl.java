@@ -0,0 +1,92 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.entities.RefreshToken;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.RefreshTokenRepository;
+import com.workout.tracker.security.IssuedRefreshToken;
+import com.workout.tracker.security.RefreshTokenService;
+import com.workout.tracker.security.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static com.workout.tracker.utils.HashUtils.sha256Hex;
+
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserService userService,
+                                   @Value("${token.refresh.expiration:30d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    @Override
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public IssuedRefreshToken rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Missing refresh token");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(sha256Hex(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        User user = current.getUser();
+        if (current.isUsed()) {
+            log.warn("Refresh token reuse detected for user {}, revoking token family {}", user.getUserId(), current.getFamilyId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            userService.revokeTokens(user.getUserId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            refreshTokenRepository.delete(current);
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        current.setUsed(true);
+        return new IssuedRefreshToken(issue(user, current.getFamilyId()), user);
+    }
+
+    @Scheduled(fixedDelayString = "${token.refresh.purge-interval:PT1H}")
+    public void purgeExpiredTokens() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(sha256Hex(token))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(refreshTokenTtl))
+                .build());
+        return token;
+    }
+
+}
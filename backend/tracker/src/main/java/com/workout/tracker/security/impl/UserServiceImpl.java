@@ -1,18 +1,38 @@
 package com.workout.tracker.security.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.workout.tracker.repositories.UserRepository;
 import com.workout.tracker.security.UserService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
-@RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int UNKNOWN_USER_VERSION = -1;
+
     private final UserRepository userRepository;
+    private final boolean revocationEnabled;
+    private final Cache<Integer, Integer> tokenVersions;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           @Value("${token.revocation.enabled:true}") boolean revocationEnabled,
+                           @Value("${token.revocation.cache-ttl:30s}") Duration cacheTtl,
+                           @Value("${token.revocation.cache-maximum-size:10000}") long cacheMaximumSize) {
+        this.userRepository = userRepository;
+        this.revocationEnabled = revocationEnabled;
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
     @Override
     public UserDetailsService userDetailsService() {
         return new UserDetailsService() {
@@ -23,4 +43,20 @@ public class UserServiceImpl implements UserService {
             }
         };
     }
+
+    @Override
+    public boolean isTokenVersionCurrent(int userId, int tokenVersion) {
+        if (!revocationEnabled) {
+            return true;
+        }
+        int currentVersion = tokenVersions.get(userId, id -> userRepository.findTokenVersionByUserId(id)
+                .orElse(UNKNOWN_USER_VERSION));
+        return currentVersion == tokenVersion;
+    }
+
+    @Override
+    public void revokeTokens(int userId) {
+        userRepository.incrementTokenVersion(userId);
+        tokenVersions.invalidate(userId);
+    }
 }
@@ -0,0 +1,220 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.activity.ActivityCalendar;
+import com.workout.tracker.config.ReplicaRoutingDataSource;
+import com.workout.tracker.config.RequestQueryCounts;
+import com.workout.tracker.dto.response.ActivityDto;
+import com.workout.tracker.dto.response.DashboardDayDto;
+import com.workout.tracker.dto.response.DashboardDto;
+import com.workout.tracker.dto.response.PersonalRecordDto;
+import com.workout.tracker.dto.response.RecentWorkoutDto;
+import com.workout.tracker.dto.response.VolumePointDto;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.rollup.RollupGranularity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Computes the dashboard in one request. Its components run concurrently, each with its own
+ * deadline, so the response takes as long as the slowest component rather than their sum, and never
+ * much longer than the deadline: a component that fails or runs late is reported as unavailable
+ * and the rest of the dashboard is still returned.
+ * <p>
+ * A late component is cancelled, and its queries carry the same deadline as a statement timeout, so
+ * it gives its connection back instead of finishing in the background. At most
+ * {@code dashboard.max-concurrent-components} components run at once across all requests, which
+ * keeps dashboards from taking every connection in the pool.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+    static final String ACTIVITY = "activity";
+    static final String WEEK_VOLUME = "weekVolume";
+    static final String PERSONAL_RECORDS = "personalRecords";
+    static final String MONTHLY_PROGRESS = "monthlyProgress";
+    static final String RECENT_WORKOUTS = "recentWorkouts";
+    private static final List<String> COMPONENTS = List.of(ACTIVITY, WEEK_VOLUME, PERSONAL_RECORDS, MONTHLY_PROGRESS, RECENT_WORKOUTS);
+
+    private final ActivityCalendar activityCalendar;
+    private final ProgressService progressService;
+    private final PersonalRecordService personalRecordService;
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Duration componentTimeout;
+    private final int monthlyGoal;
+    private final int recentWorkouts;
+    private final Semaphore componentPermits;
+    private final int queryTimeoutMillis;
+    // Components mostly wait on the database or on locks, so a virtual thread each is enough.
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Timer> componentTimers = new HashMap<>();
+
+    public DashboardService(ActivityCalendar activityCalendar, ProgressService progressService,
+                            PersonalRecordService personalRecordService,
+                            UserWorkoutExcerciseRepository userWorkoutExcerciseRepository, MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager, EntityManager entityManager,
+                            @Value("${dashboard.component-timeout:500ms}") Duration componentTimeout,
+                            @Value("${dashboard.monthly-goal:12}") int monthlyGoal,
+                            @Value("${dashboard.recent-workouts:3}") int recentWorkouts,
+                            @Value("${dashboard.max-concurrent-components:4}") int maxConcurrentComponents) {
+        this.activityCalendar = activityCalendar;
+        this.progressService = progressService;
+        this.personalRecordService = personalRecordService;
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.componentTimeout = componentTimeout;
+        this.monthlyGoal = monthlyGoal;
+        this.recentWorkouts = recentWorkouts;
+        this.componentPermits = new Semaphore(maxConcurrentComponents);
+        // JDBC statement timeouts are whole seconds, so the deadline is rounded up to the next one.
+        this.queryTimeoutMillis = (int) Math.max(1, (componentTimeout.toMillis() + 999) / 1000) * 1000;
+        COMPONENTS.forEach(component -> componentTimers.put(component,
+                Timer.builder("dashboard.component.duration").tag("component", component).register(meterRegistry)));
+    }
+
+    public DashboardDto getDashboard(int userId, LocalDate today) {
+        LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - 1);
+        List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<ActivityDto> activity = component(ACTIVITY, userId, unavailable,
+                () -> activityCalendar.getActivity(userId, today, 1));
+        CompletableFuture<List<VolumePointDto>> weekVolume = component(WEEK_VOLUME, userId, unavailable,
+                () -> progressService.getVolume(userId, null, weekStart, weekStart.plusDays(6), RollupGranularity.DAY));
+        CompletableFuture<Integer> personalRecords = component(PERSONAL_RECORDS, userId, unavailable,
+                () -> countRecordsSince(userId, today.minusDays(29)));
+        CompletableFuture<Integer> monthlyProgress = component(MONTHLY_PROGRESS, userId, unavailable,
+                () -> monthlyProgress(userId, today));
+        CompletableFuture<List<RecentWorkoutDto>> recent = component(RECENT_WORKOUTS, userId, unavailable,
+                () -> userWorkoutExcerciseRepository.findRecentWorkouts(userId, Limit.of(recentWorkouts)));
+        CompletableFuture.allOf(activity, weekVolume, personalRecords, monthlyProgress, recent).join();
+
+        DashboardDto.DashboardDtoBuilder dashboard = DashboardDto.builder()
+                .personalRecordsCount(personalRecords.join())
+                .monthlyProgress(monthlyProgress.join())
+                .recentWorkouts(recent.join());
+        ActivityDto activityDto = activity.join();
+        if (activityDto != null) {
+            dashboard.currentStreak(activityDto.getCurrentStreak())
+                    .longestStreak(activityDto.getLongestStreak())
+                    .workoutsThisWeek((int) activityDto.getCurrentWeek().stream().filter(Boolean::booleanValue).count());
+        }
+        List<VolumePointDto> volume = weekVolume.join();
+        if (volume != null) {
+            dashboard.totalVolumeThisWeek(volume.stream().mapToLong(VolumePointDto::getVolume).sum())
+                    .weeklyActivity(weeklyActivity(weekStart, volume));
+        }
+        List<String> missing = new ArrayList<>(unavailable);
+        missing.sort(null);
+        return dashboard.unavailable(missing).build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs one component with its own deadline. A late component is interrupted, and any query it is
+     * still running hits the statement timeout.
+     *
+     * @return a future that completes with the component's result, or with null once it fails or times out
+     */
+    private <T> CompletableFuture<T> component(String name, int userId, List<String> unavailable, Supplier<T> supplier) {
+        Timer timer = componentTimers.get(name);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(RequestQueryCounts.withCurrent(ReplicaRoutingDataSource.withCurrentPin(() -> {
+            try {
+                result.complete(runWithPermit(timer, supplier));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        })));
+        return result
+                .orTimeout(componentTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    task.cancel(true);
+                    log.warn("Dashboard component {} unavailable for user {}: {}", name, userId, e.toString());
+                    unavailable.add(name);
+                    return null;
+                });
+    }
+
+    /**
+     * Runs a component in a read-only transaction whose queries time out at the component's deadline.
+     */
+    private <T> T runWithPermit(Timer timer, Supplier<T> supplier) throws InterruptedException {
+        if (!componentPermits.tryAcquire(componentTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new RejectedExecutionException("No dashboard component slot free within " + componentTimeout);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                // Applies to every query of the transaction's entity manager, including the repositories' own.
+                entityManager.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMillis);
+                return timer.record(supplier);
+            });
+        } finally {
+            componentPermits.release();
+        }
+    }
+
+    private int countRecordsSince(int userId, LocalDate since) {
+        int count = 0;
+        for (PersonalRecordDto record : personalRecordService.getRecords(userId)) {
+            if (record.getAchievedAt() != null && !record.getAchievedAt().toLocalDate().isBefore(since)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int monthlyProgress(int userId, LocalDate today) {
+        int activeDays = activityCalendar.countActiveDays(userId, today.withDayOfMonth(1), today);
+        return (int) Math.min(100, Math.round(activeDays * 100.0 / Math.max(1, monthlyGoal)));
+    }
+
+    private static List<DashboardDayDto> weeklyActivity(LocalDate weekStart, List<VolumePointDto> volume) {
+        long[] daily = new long[7];
+        volume.forEach(point -> daily[(int) (point.getDate().toEpochDay() - weekStart.toEpochDay())] = point.getVolume());
+        long max = 1;
+        for (long dayVolume : daily) {
+            max = Math.max(max, dayVolume);
+        }
+        List<DashboardDayDto> days = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            days.add(DashboardDayDto.builder()
+                    .date(weekStart.plusDays(i))
+                    .volume(daily[i])
+                    .percentage((int) Math.round(daily[i] * 100.0 / max))
+                    .build());
+        }
+        return days;
+    }
+}
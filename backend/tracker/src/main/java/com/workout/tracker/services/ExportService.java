@@ -0,0 +1,96 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.dto.response.SetExportRowDto;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a user's training history as gzip-compressed CSV. Rows come from a forward-only cursor as
+ * flat projections that are never attached to the persistence context, and are written straight to
+ * the output stream, so memory use does not depend on how many sets are exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+
+    private static final String CSV_HEADER = "date_time,workout_name,exercise_name,set_number,weight,reps,volume\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * @return the number of sets written
+     */
+    @Transactional(readOnly = true)
+    public long exportSetsCsv(int userId, LocalDateTime from, LocalDateTime to, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        // Closing the writer finishes the gzip trailer; the response stream itself belongs to the container.
+        GZIPOutputStream gzip = new GZIPOutputStream(StreamUtils.nonClosing(outputStream), BUFFER_SIZE);
+        try (Stream<SetExportRowDto> sets = userWorkoutExcerciseRepository.streamExportRows(userId,
+                from != null ? from : MIN_DATE_TIME, to != null ? to : MAX_DATE_TIME);
+             Writer csv = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            csv.write(CSV_HEADER);
+            for (Iterator<SetExportRowDto> iterator = sets.iterator(); iterator.hasNext(); rows++) {
+                writeRow(csv, iterator.next());
+            }
+        }
+        log.debug("Exported {} sets for user {}", rows, userId);
+        return rows;
+    }
+
+    private static void writeRow(Writer csv, SetExportRowDto set) throws IOException {
+        csv.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(set.getDateTime()));
+        csv.write(',');
+        writeField(csv, set.getWorkoutName());
+        csv.write(',');
+        writeField(csv, set.getExerciseName());
+        csv.write(',');
+        csv.write(Integer.toString(set.getSetNumber()));
+        csv.write(',');
+        csv.write(Integer.toString(set.getWeight()));
+        csv.write(',');
+        csv.write(Integer.toString(set.getReps()));
+        csv.write(',');
+        csv.write(Long.toString((long) set.getWeight() * set.getReps()));
+        csv.write('\n');
+    }
+
+    /**
+     * Quotes a field per RFC 4180 when it contains a separator, quote or line break.
+     */
+    private static void writeField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+}
@@ -0,0 +1,52 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.repositories.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps a scheduled job to one instance at a time with a lease row per job. A lease is taken and
+ * released in short transactions of its own, so no connection is held while the job runs; the time
+ * to live bounds how long a crashed holder keeps others from running the job.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLockService(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return whether this instance now holds the job's lease, which must then be {@link #release released}
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        long ttlSeconds = Math.max(1, ttl.toSeconds());
+        Boolean acquired = transactionTemplate.execute(status -> {
+            if (jobLockRepository.acquireExpired(name, owner, ttlSeconds) == 1) {
+                return true;
+            }
+            // The job's first run anywhere: only the instance whose insert creates the row takes the lease.
+            return jobLockRepository.insertIfAbsent(name) == 1
+                    && jobLockRepository.acquireExpired(name, owner, ttlSeconds) == 1;
+        });
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jobLockRepository.release(name, owner) == 0) {
+                log.warn("Lease on job {} had expired before it was released", name);
+            }
+        });
+    }
+}
@@ -0,0 +1,231 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.dto.response.ExercisePerformanceDto;
+import com.workout.tracker.dto.response.WeeklyVolumeTrendDto;
+import com.workout.tracker.entities.ExercisePerformanceSummary;
+import com.workout.tracker.entities.SummaryOutboxEntry;
+import com.workout.tracker.entities.WeeklyVolumeTrend;
+import com.workout.tracker.entities.WeeklyVolumeTrendId;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.SetDeletedEvent;
+import com.workout.tracker.events.SetsAddedEvent;
+import com.workout.tracker.projection.ExerciseTotalsProjection;
+import com.workout.tracker.projection.WeekTotalsProjection;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.ExercisePerformanceSummaryRepository;
+import com.workout.tracker.repositories.SummaryOutboxRepository;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.WeeklyVolumeTrendRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the per-exercise performance summary and the per-user weekly volume trend, which replace
+ * the materialized views that had to be refreshed in full.
+ * <p>
+ * Every set insert or delete writes an outbox entry for each exercise and day it touches, in the
+ * same transaction. A background applier drains the outbox in batches and folds each touched
+ * exercise, and each touched user-week, from the daily summaries that are already maintained in the
+ * write transaction. A batch therefore reads one exercise's days or one user's week per key, never
+ * a whole table, and deletes are exact even for maxima. Folding is idempotent, so an entry applied
+ * twice after a crash does no harm.
+ */
+@Service
+@Slf4j
+public class PerformanceSummaryService {
+    private final SummaryOutboxRepository summaryOutboxRepository;
+    private final ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    private final ExercisePerformanceSummaryRepository exercisePerformanceSummaryRepository;
+    private final WeeklyVolumeTrendRepository weeklyVolumeTrendRepository;
+    private final UserExcerciseRepository userExcerciseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer applyTimer;
+    private final AtomicBoolean applying = new AtomicBoolean();
+
+    public PerformanceSummaryService(SummaryOutboxRepository summaryOutboxRepository,
+                                     ExerciseDailySummaryRepository exerciseDailySummaryRepository,
+                                     ExercisePerformanceSummaryRepository exercisePerformanceSummaryRepository,
+                                     WeeklyVolumeTrendRepository weeklyVolumeTrendRepository,
+                                     UserExcerciseRepository userExcerciseRepository,
+                                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${summaries.apply.batch-size:1000}") int batchSize,
+                                     @Value("${summaries.apply.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.summaryOutboxRepository = summaryOutboxRepository;
+        this.exerciseDailySummaryRepository = exerciseDailySummaryRepository;
+        this.exercisePerformanceSummaryRepository = exercisePerformanceSummaryRepository;
+        this.weeklyVolumeTrendRepository = weeklyVolumeTrendRepository;
+        this.userExcerciseRepository = userExcerciseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.applyTimer = Timer.builder("summaries.apply.duration").register(meterRegistry);
+        Gauge.builder("summaries.outbox.pending", summaryOutboxRepository, SummaryOutboxRepository::count)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSetsAdded(SetsAddedEvent event) {
+        Map<String, SummaryOutboxEntry> entries = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LoggedSet set : event.getSets()) {
+            LocalDate date = set.getDateTime().toLocalDate();
+            entries.computeIfAbsent(set.getUserExcerciseId() + "/" + date, key -> entry(set, date, now));
+        }
+        summaryOutboxRepository.saveAll(entries.values());
+    }
+
+    @EventListener
+    public void onSetDeleted(SetDeletedEvent event) {
+        LoggedSet deleted = event.getSet();
+        summaryOutboxRepository.save(entry(deleted, deleted.getDateTime().toLocalDate(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${summaries.apply.interval:PT1S}", initialDelayString = "${summaries.apply.initial-delay:PT5S}")
+    public void applyScheduled() {
+        applyPending();
+    }
+
+    /**
+     * Drains the outbox until it is empty or the per-run batch limit is reached.
+     *
+     * @return the number of outbox entries applied, or -1 if the applier was already running
+     */
+    public int applyPending() {
+        if (!applying.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            int applied = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer count = applyTimer.record(() -> transactionTemplate.execute(status -> applyBatch()));
+                applied += count != null ? count : 0;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+            }
+            if (applied > 0) {
+                log.debug("Applied {} summary outbox entries", applied);
+            }
+            return applied;
+        } finally {
+            applying.set(false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExercisePerformanceDto> getExercisePerformance(int userId) {
+        return exercisePerformanceSummaryRepository.findByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WeeklyVolumeTrendDto> getWeeklyVolumeTrends(int userId, LocalDate from, LocalDate to) {
+        return weeklyVolumeTrendRepository.findByUserId(userId, from != null ? from : LocalDate.of(1970, 1, 1),
+                to != null ? to : LocalDate.of(9999, 12, 31));
+    }
+
+    private int applyBatch() {
+        List<SummaryOutboxEntry> entries = summaryOutboxRepository.lockOldest(Limit.of(batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> userExcerciseIds = new TreeSet<>();
+        Set<WeeklyVolumeTrendId> weeks = new LinkedHashSet<>();
+        for (SummaryOutboxEntry entry : entries) {
+            userExcerciseIds.add(entry.getUserExcerciseId());
+            LocalDate date = entry.getSummaryDate();
+            weeks.add(new WeeklyVolumeTrendId(entry.getUserId(), date.minusDays(date.getDayOfWeek().getValue() - 1)));
+        }
+        // Same lock as the writers take, so the folds read every change committed before them.
+        userExcerciseRepository.lockAll(userExcerciseIds);
+        LocalDateTime now = LocalDateTime.now();
+        foldExercises(userExcerciseIds, now);
+        foldWeeks(weeks, now);
+        summaryOutboxRepository.deleteAllInBatch(entries);
+        return entries.size();
+    }
+
+    private void foldExercises(Set<Integer> userExcerciseIds, LocalDateTime now) {
+        Map<Integer, ExercisePerformanceSummary> summaries = new HashMap<>();
+        exercisePerformanceSummaryRepository.findAllById(userExcerciseIds)
+                .forEach(summary -> summaries.put(summary.getUserExcerciseId(), summary));
+        for (ExerciseTotalsProjection totals : exerciseDailySummaryRepository.sumByExercise(userExcerciseIds)) {
+            ExercisePerformanceSummary summary = summaries.remove(totals.getUserExcerciseId());
+            if (summary == null) {
+                summary = ExercisePerformanceSummary.builder().userExcerciseId(totals.getUserExcerciseId()).build();
+            }
+            summary.setUserId(totals.getUserId());
+            summary.setTotalSets(totals.getTotalSets());
+            summary.setTotalReps(totals.getTotalReps());
+            summary.setTotalVolume(totals.getTotalVolume());
+            summary.setTotalWeight(totals.getTotalWeight());
+            summary.setMaxWeight(totals.getMaxWeight());
+            summary.setMaxReps(totals.getMaxReps());
+            summary.setBestEstimatedOneRepMax(totals.getBestEstimatedOneRepMax());
+            summary.setFirstPerformed(totals.getFirstPerformed());
+            summary.setLastPerformed(totals.getLastPerformed());
+            summary.setDaysPerformed((int) totals.getDaysPerformed());
+            summary.setUpdatedAt(now);
+            exercisePerformanceSummaryRepository.save(summary);
+        }
+        // Whatever is left no longer has any sets.
+        exercisePerformanceSummaryRepository.deleteAll(summaries.values());
+    }
+
+    private void foldWeeks(Set<WeeklyVolumeTrendId> weeks, LocalDateTime now) {
+        Map<WeeklyVolumeTrendId, WeeklyVolumeTrend> trends = new HashMap<>();
+        weeklyVolumeTrendRepository.findAllById(weeks).forEach(trend -> trends.put(trend.getId(), trend));
+        for (WeeklyVolumeTrendId week : weeks) {
+            WeekTotalsProjection totals = exerciseDailySummaryRepository.sumBetween(week.getUserId(),
+                    week.getWeekStart(), week.getWeekStart().plusDays(6));
+            WeeklyVolumeTrend trend = trends.get(week);
+            if (totals.getActiveDays() == 0) {
+                if (trend != null) {
+                    weeklyVolumeTrendRepository.delete(trend);
+                }
+                continue;
+            }
+            if (trend == null) {
+                trend = WeeklyVolumeTrend.builder().userId(week.getUserId()).weekStart(week.getWeekStart()).build();
+            }
+            trend.setWorkoutsCount((int) totals.getActiveDays());
+            trend.setUniqueExercises((int) totals.getUniqueExercises());
+            trend.setTotalVolume(totals.getTotalVolume());
+            trend.setTotalSets(totals.getTotalSets());
+            trend.setUpdatedAt(now);
+            weeklyVolumeTrendRepository.save(trend);
+        }
+    }
+
+    private static SummaryOutboxEntry entry(LoggedSet set, LocalDate date, LocalDateTime now) {
+        return SummaryOutboxEntry.builder()
+                .userId(set.getUserId())
+                .userExcerciseId(set.getUserExcerciseId())
+                .summaryDate(date)
+                .createdAt(now)
+                .build();
+    }
+}
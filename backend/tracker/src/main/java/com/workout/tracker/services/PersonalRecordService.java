@@ -0,0 +1,481 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.config.ReplicaRoutingDataSource;
+import com.workout.tracker.dto.response.PersonalRecordDto;
+import com.workout.tracker.entities.ExerciseDailySummary;
+import com.workout.tracker.entities.PersonalRecord;
+import com.workout.tracker.entities.PersonalRecordType;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.projection.UserExerciseProjection;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.PersonalRecordRepository;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.utils.IntObjectHashMap;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.workout.tracker.utils.StrengthUtils.estimatedOneRepMax;
+
+/**
+ * Personal records per exercise: heaviest weight, most reps at each weight, best estimated 1RM and
+ * best session (day) volume.
+ * <p>
+ * {@link PersonalRecord} rows are the source of truth and are updated in the transaction that adds
+ * or deletes sets, under a row lock on the exercise. Reads are served from an in-memory index keyed
+ * by exercise id, filled lazily from the table on the primary and invalidated for an exercise after
+ * every commit through this instance that changes its records. Commits through other instances drop
+ * the user's entries when the user's new data version is first seen here, and no entry is served
+ * for longer than the maximum age in any case.
+ */
+@Service
+@Slf4j
+public class PersonalRecordService {
+    private final PersonalRecordRepository personalRecordRepository;
+    private final ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final UserExcerciseRepository userExcerciseRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryRead;
+    private final long maxAgeNanos;
+
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<ExerciseRecords> index = new IntObjectHashMap<>();
+    private long invalidations;
+
+    public PersonalRecordService(PersonalRecordRepository personalRecordRepository,
+                                 ExerciseDailySummaryRepository exerciseDailySummaryRepository,
+                                 UserWorkoutExcerciseRepository userWorkoutExcerciseRepository,
+                                 UserExcerciseRepository userExcerciseRepository, UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @org.springframework.beans.factory.annotation.Value("${personal-records.index.max-age:5m}") Duration maxAge) {
+        this.personalRecordRepository = personalRecordRepository;
+        this.exerciseDailySummaryRepository = exerciseDailySummaryRepository;
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.userExcerciseRepository = userExcerciseRepository;
+        this.userRepository = userRepository;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setReadOnly(true);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Updates the records with newly saved sets. Must run in the transaction that saved them, after
+     * the daily summaries have been updated.
+     *
+     * @return the records these sets set or improved
+     */
+    @Transactional
+    public List<PersonalRecordDto> recordSets(List<LoggedSet> sets) {
+        if (sets.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> userExcerciseIds = sets.stream().map(LoggedSet::getUserExcerciseId).collect(Collectors.toSet());
+        userExcerciseRepository.lockAll(userExcerciseIds);
+        RecordUpdate update = new RecordUpdate(personalRecordRepository.findByUserExcerciseIdIn(userExcerciseIds));
+        for (LoggedSet set : sets) {
+            if (set.getWeight() > 0 && set.getReps() > 0) {
+                update.offer(set, PersonalRecordType.HEAVIEST_WEIGHT, 0, set.getWeight(), (current) ->
+                        set.getWeight() > current.getWeight()
+                                || (set.getWeight() == current.getWeight() && set.getReps() > current.getReps()));
+            }
+            double oneRepMax = estimatedOneRepMax(set.getWeight(), set.getReps());
+            if (oneRepMax > 0) {
+                update.offer(set, PersonalRecordType.BEST_ESTIMATED_ONE_REP_MAX, 0, oneRepMax,
+                        (current) -> oneRepMax > current.getValue());
+            }
+            if (set.getReps() > 0) {
+                update.offer(set, PersonalRecordType.MOST_REPS_AT_WEIGHT, set.getWeight(), set.getReps(),
+                        (current) -> set.getReps() > current.getReps());
+            }
+        }
+        Set<LocalDate> dates = sets.stream().map(set -> set.getDateTime().toLocalDate()).collect(Collectors.toSet());
+        Map<Integer, Integer> owners = sets.stream()
+                .collect(Collectors.toMap(LoggedSet::getUserExcerciseId, LoggedSet::getUserId, (first, second) -> first));
+        for (ExerciseDailySummary summary : exerciseDailySummaryRepository.findAllByIds(userExcerciseIds, dates)) {
+            if (summary.getVolume() > 0) {
+                update.offerVolume(summary, owners.get(summary.getUserExcerciseId()));
+            }
+        }
+        personalRecordRepository.saveAll(update.getCreated());
+        invalidateAfterCommit(userExcerciseIds);
+        return update.getImproved();
+    }
+
+    /**
+     * Recomputes any record the deleted set held. Must run in the transaction that deleted it, after
+     * the daily summary of its day has been repaired.
+     */
+    @Transactional
+    public void repairAfterDelete(LoggedSet deleted) {
+        int userExcerciseId = deleted.getUserExcerciseId();
+        userExcerciseRepository.lockAll(List.of(userExcerciseId));
+        for (PersonalRecord record : personalRecordRepository.findByUserExcerciseId(userExcerciseId)) {
+            boolean heldByDeletedSet = record.getUserWorkoutExcerciseId() != null
+                    && record.getUserWorkoutExcerciseId() == deleted.getUserWorkoutExcerciseId();
+            Optional<LoggedSet> holder = Optional.empty();
+            switch (record.getRecordType()) {
+                case HEAVIEST_WEIGHT -> {
+                    if (!heldByDeletedSet) {
+                        continue;
+                    }
+                    holder = exerciseDailySummaryRepository
+                            .findFirstByUserExcerciseIdOrderByTopSetWeightDescTopSetRepsDescSummaryDateAsc(userExcerciseId)
+                            .filter(summary -> summary.getTopSetWeight() > 0)
+                            .flatMap(summary -> setsOn(summary).stream()
+                                    .filter(set -> set.getWeight() == summary.getTopSetWeight() && set.getReps() == summary.getTopSetReps())
+                                    .findFirst());
+                    holder.ifPresent(set -> apply(record, set.getWeight(), set));
+                }
+                case BEST_ESTIMATED_ONE_REP_MAX -> {
+                    if (!heldByDeletedSet) {
+                        continue;
+                    }
+                    holder = exerciseDailySummaryRepository
+                            .findFirstByUserExcerciseIdOrderByBestEstimatedOneRepMaxDescSummaryDateAsc(userExcerciseId)
+                            .filter(summary -> summary.getBestEstimatedOneRepMax() > 0)
+                            .flatMap(summary -> setsOn(summary).stream()
+                                    .max(Comparator.comparingDouble(set -> estimatedOneRepMax(set.getWeight(), set.getReps()))));
+                    holder.ifPresent(set -> apply(record, estimatedOneRepMax(set.getWeight(), set.getReps()), set));
+                }
+                case MOST_REPS_AT_WEIGHT -> {
+                    if (!heldByDeletedSet) {
+                        continue;
+                    }
+                    holder = userWorkoutExcerciseRepository.findMostRepsAtWeight(userExcerciseId, record.getWeightKey(), Limit.of(1))
+                            .stream().findFirst();
+                    holder.ifPresent(set -> apply(record, set.getReps(), set));
+                }
+                case BEST_SESSION_VOLUME -> {
+                    if (!record.getAchievedAt().toLocalDate().equals(deleted.getDateTime().toLocalDate())) {
+                        continue;
+                    }
+                    Optional<ExerciseDailySummary> best = exerciseDailySummaryRepository
+                            .findFirstByUserExcerciseIdOrderByVolumeDescSummaryDateAsc(userExcerciseId)
+                            .filter(summary -> summary.getVolume() > 0);
+                    if (best.isPresent()) {
+                        record.setValue(best.get().getVolume());
+                        record.setAchievedAt(best.get().getSummaryDate().atStartOfDay());
+                        continue;
+                    }
+                }
+            }
+            if (holder.isEmpty()) {
+                personalRecordRepository.delete(record);
+            }
+        }
+        invalidateAfterCommit(List.of(userExcerciseId));
+    }
+
+    /**
+     * Records of one exercise, served from the in-memory index. Records of other users' exercises are
+     * never returned.
+     */
+    public List<PersonalRecordDto> getRecords(int userId, int userExcerciseId) {
+        return exerciseRecords(userExcerciseId).forUser(userId);
+    }
+
+    public List<PersonalRecordDto> getRecords(int userId) {
+        List<Integer> userExcerciseIds = userExcerciseRepository.findByUserId(userRepository.getReferenceById(userId)).stream()
+                .map(UserExerciseProjection::getUserExcerciseId)
+                .toList();
+        List<PersonalRecordDto> records = new ArrayList<>();
+        for (ExerciseRecords exercise : exerciseRecords(userExcerciseIds)) {
+            records.addAll(exercise.forUser(userId));
+        }
+        return records;
+    }
+
+    /**
+     * O(1) lookup of a single record; {@code weight} is only used for
+     * {@link PersonalRecordType#MOST_REPS_AT_WEIGHT}.
+     */
+    public Optional<PersonalRecordDto> getRecord(int userExcerciseId, PersonalRecordType recordType, int weight) {
+        return Optional.ofNullable(exerciseRecords(userExcerciseId).get(recordType, weight));
+    }
+
+    private ExerciseRecords exerciseRecords(int userExcerciseId) {
+        long generation;
+        indexLock.readLock().lock();
+        try {
+            ExerciseRecords cached = index.get(userExcerciseId);
+            if (isFresh(cached)) {
+                return cached;
+            }
+            generation = invalidations;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        // The replica may not have the latest commit yet, and whatever is loaded is kept.
+        ExerciseRecords loaded = new ExerciseRecords(loadOnPrimary(
+                () -> personalRecordRepository.findByUserExcerciseId(userExcerciseId)));
+        indexLock.writeLock().lock();
+        try {
+            // A commit invalidated records while this load ran, so what was read may already be stale.
+            if (invalidations == generation) {
+                index.put(userExcerciseId, loaded);
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * Like {@link #exerciseRecords(int)} for several exercises, loading every one missing from the
+     * index with a single query.
+     */
+    private List<ExerciseRecords> exerciseRecords(List<Integer> userExcerciseIds) {
+        Map<Integer, ExerciseRecords> found = new HashMap<>();
+        Map<Integer, List<PersonalRecord>> missing = new HashMap<>();
+        long generation;
+        indexLock.readLock().lock();
+        try {
+            for (int userExcerciseId : userExcerciseIds) {
+                ExerciseRecords cached = index.get(userExcerciseId);
+                if (isFresh(cached)) {
+                    found.put(userExcerciseId, cached);
+                } else {
+                    missing.put(userExcerciseId, new ArrayList<>());
+                }
+            }
+            generation = invalidations;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        if (!missing.isEmpty()) {
+            loadOnPrimary(() -> personalRecordRepository.findByUserExcerciseIdIn(missing.keySet()))
+                    .forEach(record -> missing.get(record.getUserExcerciseId()).add(record));
+            indexLock.writeLock().lock();
+            try {
+                missing.forEach((userExcerciseId, records) -> {
+                    ExerciseRecords loaded = new ExerciseRecords(records);
+                    found.put(userExcerciseId, loaded);
+                    if (invalidations == generation) {
+                        index.put(userExcerciseId, loaded);
+                    }
+                });
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        }
+        return userExcerciseIds.stream().map(found::get).toList();
+    }
+
+    /**
+     * Drops the entries of users whose data changed through another instance, along with entries of
+     * exercises without records, whose owner is unknown.
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        indexLock.writeLock().lock();
+        try {
+            invalidations++;
+            List<Integer> stale = new ArrayList<>();
+            index.forEach((userExcerciseId, records) -> {
+                if (records.ownerId == -1 || event.getUserIds().contains(records.ownerId)) {
+                    stale.add(userExcerciseId);
+                }
+            });
+            stale.forEach(index::remove);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private List<PersonalRecord> loadOnPrimary(Supplier<List<PersonalRecord>> load) {
+        if (ReplicaRoutingDataSource.currentRoute() == ReplicaRoutingDataSource.Route.REPLICA) {
+            // The caller's read-only transaction is on the replica, so the load needs one of its own.
+            return ReplicaRoutingDataSource.onPrimary(() -> primaryRead.execute(status -> load.get()));
+        }
+        return ReplicaRoutingDataSource.onPrimary(load);
+    }
+
+    private boolean isFresh(ExerciseRecords cached) {
+        return cached != null && System.nanoTime() - cached.loadedAt < maxAgeNanos;
+    }
+
+    private void invalidateAfterCommit(Collection<Integer> userExcerciseIds) {
+        List<Integer> ids = List.copyOf(userExcerciseIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexLock.writeLock().lock();
+                try {
+                    invalidations++;
+                    ids.forEach(index::remove);
+                } finally {
+                    indexLock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    private List<LoggedSet> setsOn(ExerciseDailySummary summary) {
+        LocalDate date = summary.getSummaryDate();
+        return userWorkoutExcerciseRepository.findLoggedSets(summary.getUserExcerciseId(),
+                        date.atStartOfDay(), date.plusDays(1).atStartOfDay()).stream()
+                .sorted(Comparator.comparing(LoggedSet::getDateTime).thenComparingInt(LoggedSet::getUserWorkoutExcerciseId))
+                .collect(Collectors.toList());
+    }
+
+    private static void apply(PersonalRecord record, double value, LoggedSet set) {
+        record.setValue(value);
+        record.setWeight(set.getWeight());
+        record.setReps(set.getReps());
+        record.setUserWorkoutExcerciseId(set.getUserWorkoutExcerciseId());
+        record.setAchievedAt(set.getDateTime());
+    }
+
+    private static PersonalRecordDto toDto(PersonalRecord record, Double previousValue) {
+        return PersonalRecordDto.builder()
+                .userExcerciseId(record.getUserExcerciseId())
+                .recordType(record.getRecordType())
+                .value(record.getValue())
+                .weight(record.getWeight())
+                .reps(record.getReps())
+                .userWorkoutExcerciseId(record.getUserWorkoutExcerciseId())
+                .achievedAt(record.getAchievedAt())
+                .previousValue(previousValue)
+                .build();
+    }
+
+    @Value
+    private static class RecordKey {
+        int userExcerciseId;
+        PersonalRecordType recordType;
+        int weightKey;
+    }
+
+    private interface Improvement {
+        boolean beats(PersonalRecord current);
+    }
+
+    /**
+     * Applies candidate sets to the loaded records of one batch and remembers what changed.
+     */
+    private static class RecordUpdate {
+        private final Map<RecordKey, PersonalRecord> records = new HashMap<>();
+        private final Map<RecordKey, Double> previousValues = new LinkedHashMap<>();
+        private final List<PersonalRecord> created = new ArrayList<>();
+
+        RecordUpdate(List<PersonalRecord> existing) {
+            existing.forEach(record -> records.put(
+                    new RecordKey(record.getUserExcerciseId(), record.getRecordType(), record.getWeightKey()), record));
+        }
+
+        void offer(LoggedSet set, PersonalRecordType recordType, int weightKey, double value, Improvement improvement) {
+            RecordKey key = new RecordKey(set.getUserExcerciseId(), recordType, weightKey);
+            PersonalRecord current = records.get(key);
+            if (current != null && !improvement.beats(current)) {
+                return;
+            }
+            PersonalRecord record = current != null ? current : create(key, set.getUserId());
+            remember(key, current);
+            apply(record, value, set);
+        }
+
+        void offerVolume(ExerciseDailySummary summary, Integer userId) {
+            RecordKey key = new RecordKey(summary.getUserExcerciseId(), PersonalRecordType.BEST_SESSION_VOLUME, 0);
+            PersonalRecord current = records.get(key);
+            if (current != null && summary.getVolume() <= current.getValue()) {
+                return;
+            }
+            PersonalRecord record = current != null ? current : create(key, userId != null ? userId : summary.getUserId());
+            remember(key, current);
+            record.setValue(summary.getVolume());
+            record.setAchievedAt(summary.getSummaryDate().atStartOfDay());
+        }
+
+        List<PersonalRecord> getCreated() {
+            return created;
+        }
+
+        List<PersonalRecordDto> getImproved() {
+            List<PersonalRecordDto> improved = new ArrayList<>(previousValues.size());
+            previousValues.forEach((key, previousValue) -> improved.add(toDto(records.get(key), previousValue)));
+            return improved;
+        }
+
+        private PersonalRecord create(RecordKey key, int userId) {
+            PersonalRecord record = PersonalRecord.builder()
+                    .userExcerciseId(key.getUserExcerciseId())
+                    .userId(userId)
+                    .recordType(key.getRecordType())
+                    .weightKey(key.getWeightKey())
+                    .build();
+            records.put(key, record);
+            created.add(record);
+            return record;
+        }
+
+        private void remember(RecordKey key, PersonalRecord current) {
+            if (!previousValues.containsKey(key)) {
+                previousValues.put(key, current != null ? current.getValue() : null);
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of one exercise's records.
+     */
+    private static class ExerciseRecords {
+        private final List<PersonalRecordDto> records;
+        private final PersonalRecordDto[] byType = new PersonalRecordDto[PersonalRecordType.values().length];
+        private final IntObjectHashMap<PersonalRecordDto> repsAtWeight;
+        private final int ownerId;
+        private final long loadedAt = System.nanoTime();
+
+        ExerciseRecords(List<PersonalRecord> rows) {
+            // Every row of an exercise carries the same owner; an exercise without records has nothing to hide.
+            this.ownerId = rows.isEmpty() ? -1 : rows.get(0).getUserId();
+            this.records = rows.stream()
+                    .sorted(Comparator.comparing(PersonalRecord::getRecordType).thenComparingInt(PersonalRecord::getWeightKey))
+                    .map(row -> toDto(row, null))
+                    .toList();
+            this.repsAtWeight = new IntObjectHashMap<>(records.size());
+            for (PersonalRecordDto record : records) {
+                if (record.getRecordType() == PersonalRecordType.MOST_REPS_AT_WEIGHT) {
+                    repsAtWeight.put(record.getWeight(), record);
+                } else {
+                    byType[record.getRecordType().ordinal()] = record;
+                }
+            }
+        }
+
+        PersonalRecordDto get(PersonalRecordType recordType, int weight) {
+            return recordType == PersonalRecordType.MOST_REPS_AT_WEIGHT ? repsAtWeight.get(weight) : byType[recordType.ordinal()];
+        }
+
+        List<PersonalRecordDto> forUser(int userId) {
+            return ownerId == userId ? records : List.of();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.dto.response.PlateauDto;
+import com.workout.tracker.entities.Plateau;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.repositories.PlateauRepository;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.workout.tracker.utils.StrengthUtils.estimatedOneRepMax;
+
+/**
+ * Finds plateaued exercises for every user on a schedule, with the rule the frontend used: within
+ * the window, an exercise progresses on any day that beats its running best weight or estimated
+ * 1RM, and it has plateaued once its last progress day is at least the threshold ago.
+ * <p>
+ * Users are split by id into contiguous partitions on a fork/join pool. Each partition streams its
+ * sets through one cursor and replaces its users' plateau rows in its own transaction, so runtime
+ * scales with the pool's parallelism. Each partition holds a connection throughout, so the default
+ * parallelism stays well below the connection pool size, leaving connections for requests.
+ * <p>
+ * Every instance schedules the run, and a lease in {@code job_lock} lets only one of them do it.
+ */
+@Service
+@Slf4j
+public class PlateauDetectionService {
+    private static final String JOB_NAME = "plateau-detection";
+    private static final String[] SUGGESTIONS = {
+            "Try increasing the weight by 2.5-5lbs",
+            "Add an extra set to increase volume",
+            "Focus on slower, controlled reps",
+            "Try a different rep range (if doing 8-10, try 5-6)",
+            "Add pause reps or tempo variations",
+            "Consider deload week with 70% weight",
+            "Try a different exercise variation"
+    };
+
+    private final PlateauRepository plateauRepository;
+    private final UserRepository userRepository;
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowDays;
+    private final int thresholdDays;
+    private final int usersPerTask;
+    private final Duration lockTtl;
+    private final ForkJoinPool pool;
+    private final Timer runTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger usersProcessed = new AtomicInteger();
+    private volatile int usersTotal;
+    private volatile int lastDetected;
+
+    public PlateauDetectionService(PlateauRepository plateauRepository, UserRepository userRepository,
+                                   UserWorkoutExcerciseRepository userWorkoutExcerciseRepository,
+                                   JobLockService jobLockService,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${plateaus.detection.window-days:90}") int windowDays,
+                                   @Value("${plateaus.detection.threshold-days:21}") int thresholdDays,
+                                   @Value("${plateaus.detection.users-per-task:500}") int usersPerTask,
+                                   @Value("${plateaus.detection.parallelism:4}") int parallelism,
+                                   @Value("${plateaus.detection.lock-ttl:2h}") Duration lockTtl) {
+        this.plateauRepository = plateauRepository;
+        this.userRepository = userRepository;
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowDays = windowDays;
+        this.thresholdDays = thresholdDays;
+        this.usersPerTask = usersPerTask;
+        this.lockTtl = lockTtl;
+        this.pool = new ForkJoinPool(parallelism);
+
+        this.runTimer = Timer.builder("plateaus.detection.duration").register(meterRegistry);
+        Gauge.builder("plateaus.detection.progress", this,
+                        service -> service.usersTotal == 0 ? 1.0 : service.usersProcessed.get() / (double) service.usersTotal)
+                .register(meterRegistry);
+        Gauge.builder("plateaus.detection.detected", this, service -> service.lastDetected)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${plateaus.detection.cron:0 30 3 * * *}")
+    public void detectScheduled() {
+        detectAll();
+    }
+
+    /**
+     * @return the number of plateaus found, or -1 if a run was already in progress here or on another
+     * instance
+     */
+    public int detectAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Plateau detection is already running, skipping");
+            return -1;
+        }
+        try {
+            if (!jobLockService.tryAcquire(JOB_NAME, lockTtl)) {
+                log.info("Plateau detection is running on another instance, skipping");
+                return -1;
+            }
+            try {
+                return detectAllLocked();
+            } finally {
+                jobLockService.release(JOB_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int detectAllLocked() {
+        int[] userIds = userRepository.findAllUserIds().stream().mapToInt(Integer::intValue).toArray();
+        usersProcessed.set(0);
+        usersTotal = userIds.length;
+        LocalDate today = LocalDate.now();
+        int detected = runTimer.record(() -> pool.invoke(new PartitionTask(userIds, 0, userIds.length, today)));
+        lastDetected = detected;
+        log.info("Detected {} plateaus across {} users", detected, userIds.length);
+        return detected;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlateauDto> getPlateaus(int userId) {
+        LocalDate today = LocalDate.now();
+        List<PlateauDto> plateaus = plateauRepository.findByUserId(userId);
+        plateaus.forEach(plateau -> {
+            long daysSinceProgress = ChronoUnit.DAYS.between(plateau.getLastProgressDate(), today);
+            plateau.setDaysSinceProgress(daysSinceProgress);
+            plateau.setSuggestion(suggestion(plateau.getUserExcerciseId(), daysSinceProgress));
+        });
+        return plateaus;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Detects plateaus for the users in {@code userIds[from, to)} and replaces their rows.
+     *
+     * @return the number of plateaus found
+     */
+    private int detectPartition(int[] userIds, int from, int to, LocalDate today) {
+        int fromUserId = userIds[from];
+        int toUserId = userIds[to - 1];
+        Integer detected = transactionTemplate.execute(status -> {
+            List<Plateau> plateaus = new ArrayList<>();
+            try (Stream<LoggedSet> sets = userWorkoutExcerciseRepository.streamLoggedSetsOfUsers(fromUserId, toUserId,
+                    today.minusDays(windowDays).atStartOfDay())) {
+                ExerciseProgress progress = null;
+                for (Iterator<LoggedSet> iterator = sets.iterator(); iterator.hasNext(); ) {
+                    LoggedSet set = iterator.next();
+                    if (progress == null || progress.userExcerciseId != set.getUserExcerciseId()) {
+                        addIfPlateaued(progress, today, plateaus);
+                        progress = new ExerciseProgress(set);
+                    }
+                    progress.accept(set);
+                }
+                addIfPlateaued(progress, today, plateaus);
+            }
+            plateauRepository.deleteByUserIdBetween(fromUserId, toUserId);
+            plateauRepository.saveAll(plateaus);
+            return plateaus.size();
+        });
+        usersProcessed.addAndGet(to - from);
+        return detected != null ? detected : 0;
+    }
+
+    private void addIfPlateaued(ExerciseProgress progress, LocalDate today, List<Plateau> plateaus) {
+        if (progress == null || ChronoUnit.DAYS.between(progress.lastProgressDate, today) < thresholdDays) {
+            return;
+        }
+        plateaus.add(Plateau.builder()
+                .userExcerciseId(progress.userExcerciseId)
+                .userId(progress.userId)
+                .lastProgressDate(progress.lastProgressDate)
+                .peakWeight(progress.peakWeight)
+                .peakEstimatedOneRepMax(progress.peakEstimatedOneRepMax)
+                .detectedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static String suggestion(int userExcerciseId, long daysSinceProgress) {
+        if (daysSinceProgress > 42) {
+            return "Consider a deload week or switching to a different exercise variation";
+        }
+        if (daysSinceProgress > 28) {
+            return "Try changing your rep range or adding volume";
+        }
+        // Stable per exercise rather than random, so the same plateau reads the same on every load.
+        return SUGGESTIONS[Math.floorMod(userExcerciseId, SUGGESTIONS.length)];
+    }
+
+    private static class ExerciseProgress {
+        private final int userExcerciseId;
+        private final int userId;
+        private int peakWeight;
+        private double peakEstimatedOneRepMax;
+        private LocalDate lastProgressDate;
+
+        ExerciseProgress(LoggedSet first) {
+            this.userExcerciseId = first.getUserExcerciseId();
+            this.userId = first.getUserId();
+            this.lastProgressDate = first.getDateTime().toLocalDate();
+        }
+
+        void accept(LoggedSet set) {
+            double oneRepMax = estimatedOneRepMax(set.getWeight(), set.getReps());
+            if (set.getWeight() > peakWeight || oneRepMax > peakEstimatedOneRepMax) {
+                peakWeight = Math.max(peakWeight, set.getWeight());
+                peakEstimatedOneRepMax = Math.max(peakEstimatedOneRepMax, oneRepMax);
+                lastProgressDate = set.getDateTime().toLocalDate();
+            }
+        }
+    }
+
+    private class PartitionTask extends RecursiveTask<Integer> {
+        private final int[] userIds;
+        private final int from;
+        private final int to;
+        private final LocalDate today;
+
+        PartitionTask(int[] userIds, int from, int to, LocalDate today) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.today = today;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (from == to) {
+                return 0;
+            }
+            if (to - from <= usersPerTask) {
+                return detectPartition(userIds, from, to, today);
+            }
+            int middle = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(userIds, from, middle, today);
+            left.fork();
+            int right = new PartitionTask(userIds, middle, to, today).compute();
+            return left.join() + right;
+        }
+    }
+}
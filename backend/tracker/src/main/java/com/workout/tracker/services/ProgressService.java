@@ -0,0 +1,148 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.dto.response.ProgressPointDto;
+import com.workout.tracker.dto.response.VolumePointDto;
+import com.workout.tracker.entities.ExerciseDailySummary;
+import com.workout.tracker.entities.ExerciseDailySummaryId;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.SetDeletedEvent;
+import com.workout.tracker.events.SetsAddedEvent;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.rollup.RollupGranularity;
+import com.workout.tracker.rollup.VolumeRollupStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.workout.tracker.utils.StrengthUtils.estimatedOneRepMax;
+
+/**
+ * Maintains {@link ExerciseDailySummary} rows in the same transaction as the set writes, and serves
+ * progress series from them so a query reads one row per day rather than every set.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressService {
+    private final ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    private final UserExcerciseRepository userExcerciseRepository;
+    private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    private final VolumeRollupStore volumeRollupStore;
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    @EventListener
+    public void onSetsAdded(SetsAddedEvent event) {
+        List<LoggedSet> sets = event.getSets();
+        if (sets.isEmpty()) {
+            return;
+        }
+        Set<Integer> userExcerciseIds = sets.stream().map(LoggedSet::getUserExcerciseId).collect(Collectors.toSet());
+        Set<LocalDate> dates = sets.stream().map(set -> set.getDateTime().toLocalDate()).collect(Collectors.toSet());
+        userExcerciseRepository.lockAll(userExcerciseIds);
+        Map<ExerciseDailySummaryId, ExerciseDailySummary> summaries = new HashMap<>();
+        exerciseDailySummaryRepository.findAllByIds(userExcerciseIds, dates)
+                .forEach(summary -> summaries.put(summary.getId(), summary));
+        List<ExerciseDailySummary> created = new ArrayList<>();
+        for (LoggedSet set : sets) {
+            ExerciseDailySummaryId id = new ExerciseDailySummaryId(set.getUserExcerciseId(), set.getDateTime().toLocalDate());
+            ExerciseDailySummary summary = summaries.get(id);
+            if (summary == null) {
+                summary = emptySummary(set);
+                summaries.put(id, summary);
+                created.add(summary);
+            }
+            accumulate(summary, set);
+        }
+        // Rows loaded above are managed and flushed on commit; only new ones need saving.
+        exerciseDailySummaryRepository.saveAll(created);
+    }
+
+    @EventListener
+    public void onSetDeleted(SetDeletedEvent event) {
+        LoggedSet deleted = event.getSet();
+        LocalDate date = deleted.getDateTime().toLocalDate();
+        userExcerciseRepository.lockAll(List.of(deleted.getUserExcerciseId()));
+        // A maximum cannot be decremented, so the day is recomputed from its remaining sets.
+        List<LoggedSet> remaining = userWorkoutExcerciseRepository.findLoggedSets(deleted.getUserExcerciseId(),
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        ExerciseDailySummaryId id = new ExerciseDailySummaryId(deleted.getUserExcerciseId(), date);
+        if (remaining.isEmpty()) {
+            exerciseDailySummaryRepository.findById(id).ifPresent(exerciseDailySummaryRepository::delete);
+            return;
+        }
+        ExerciseDailySummary summary = exerciseDailySummaryRepository.findById(id).orElseGet(() -> emptySummary(deleted));
+        summary.setBestEstimatedOneRepMax(0);
+        summary.setTopSetWeight(0);
+        summary.setTopSetReps(0);
+        summary.setVolume(0);
+        summary.setSetCount(0);
+        summary.setTotalReps(0);
+        summary.setTotalWeight(0);
+        summary.setMaxReps(0);
+        remaining.forEach(set -> accumulate(summary, set));
+        exerciseDailySummaryRepository.save(summary);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressPointDto> getProgress(int userId, int userExcerciseId, LocalDate from, LocalDate to) {
+        return exerciseDailySummaryRepository.findByUserIdAndUserExcerciseIdAndSummaryDateBetweenOrderBySummaryDate(
+                        userId, userExcerciseId, from != null ? from : MIN_DATE, to != null ? to : MAX_DATE).stream()
+                .map(summary -> ProgressPointDto.builder()
+                        .date(summary.getSummaryDate())
+                        .bestEstimatedOneRepMax(summary.getBestEstimatedOneRepMax())
+                        .topSetWeight(summary.getTopSetWeight())
+                        .topSetReps(summary.getTopSetReps())
+                        .volume(summary.getVolume())
+                        .setCount(summary.getSetCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Volume per day, week or month, served from the in-memory rollup store.
+     *
+     * @param userExcerciseId the exercise to roll up, or null for all of the user's exercises
+     */
+    public List<VolumePointDto> getVolume(int userId, Integer userExcerciseId, LocalDate from, LocalDate to,
+                                          RollupGranularity granularity) {
+        return volumeRollupStore.getVolume(userId, userExcerciseId, from != null ? from : MIN_DATE,
+                to != null ? to : MAX_DATE, granularity);
+    }
+
+    private static ExerciseDailySummary emptySummary(LoggedSet set) {
+        return ExerciseDailySummary.builder()
+                .userExcerciseId(set.getUserExcerciseId())
+                .summaryDate(set.getDateTime().toLocalDate())
+                .userId(set.getUserId())
+                .build();
+    }
+
+    private static void accumulate(ExerciseDailySummary summary, LoggedSet set) {
+        summary.setBestEstimatedOneRepMax(Math.max(summary.getBestEstimatedOneRepMax(),
+                estimatedOneRepMax(set.getWeight(), set.getReps())));
+        if (set.getWeight() > summary.getTopSetWeight()
+                || (set.getWeight() == summary.getTopSetWeight() && set.getReps() > summary.getTopSetReps())) {
+            summary.setTopSetWeight(set.getWeight());
+            summary.setTopSetReps(set.getReps());
+        }
+        summary.setVolume(summary.getVolume() + (long) set.getWeight() * set.getReps());
+        summary.setSetCount(summary.getSetCount() + 1);
+        summary.setTotalReps(summary.getTotalReps() + set.getReps());
+        summary.setTotalWeight(summary.getTotalWeight() + set.getWeight());
+        summary.setMaxReps(Math.max(summary.getMaxReps(), set.getReps()));
+    }
+}
@@ -0,0 +1,480 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.dto.response.SetImportResponseDto;
+import com.workout.tracker.dto.response.SetImportStatusDto;
+import com.workout.tracker.entities.SetImportCheckpoint;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.projection.UserExerciseProjection;
+import com.workout.tracker.repositories.SetImportCheckpointRepository;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports a user's set history from CSV, such as another tracker's export or our own.
+ * <p>
+ * The request thread splits the body into chunks of records, a worker pool parses chunks in
+ * parallel, and the request thread commits them strictly in file order. Each chunk is one
+ * transaction that creates any exercises it names for the first time, batch-inserts its sets through
+ * the normal write path and advances the import's checkpoint. A failed or interrupted import can
+ * therefore be retried with the same import id and resumes after the last committed chunk.
+ * <p>
+ * Each chunk locks the checkpoint row and checks it is where this upload left it, so of two uploads
+ * of the same import, on any instances, only one can commit a chunk; the other fails.
+ */
+@Service
+@Slf4j
+public class SetImportService {
+    private static final String DATE_TIME = "date_time";
+    private static final String WORKOUT_NAME = "workout_name";
+    private static final String EXERCISE_NAME = "exercise_name";
+    private static final String SET_NUMBER = "set_number";
+    private static final String WEIGHT = "weight";
+    private static final String REPS = "reps";
+    private static final String KEY_SEPARATOR = "\u0000";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserWorkoutExcerciseService userWorkoutExcerciseService;
+    private final UserExcerciseRepository userExcerciseRepository;
+    private final UserRepository userRepository;
+    private final SetImportCheckpointRepository setImportCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int maxRecordLength;
+    private final int parallelism;
+    private final ExecutorService parsers;
+
+    public SetImportService(UserWorkoutExcerciseService userWorkoutExcerciseService,
+                            UserExcerciseRepository userExcerciseRepository, UserRepository userRepository,
+                            SetImportCheckpointRepository setImportCheckpointRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sets.import.chunk-size:5000}") int chunkSize,
+                            @Value("${sets.import.max-errors:100}") int maxErrors,
+                            @Value("${sets.import.max-record-length:8192}") int maxRecordLength,
+                            @Value("${sets.import.parallelism:0}") int parallelism) {
+        this.userWorkoutExcerciseService = userWorkoutExcerciseService;
+        this.userExcerciseRepository = userExcerciseRepository;
+        this.userRepository = userRepository;
+        this.setImportCheckpointRepository = setImportCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxRecordLength = maxRecordLength;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "set-import-parse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SetImportResponseDto importCsv(int userId, String importId, InputStream csv) throws IOException {
+        return runImport(userId, importId, csv);
+    }
+
+    public Optional<SetImportStatusDto> getStatus(int userId, String importId) {
+        return setImportCheckpointRepository.findById(importId)
+                .filter(checkpoint -> checkpoint.getUserId() == userId)
+                .map(checkpoint -> SetImportStatusDto.builder()
+                        .importId(checkpoint.getImportId())
+                        .rowsCommitted(checkpoint.getRowsCommitted())
+                        .rowsImported(checkpoint.getRowsImported())
+                        .completed(checkpoint.isCompleted())
+                        .updatedAt(checkpoint.getUpdatedAt())
+                        .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsers.shutdownNow();
+    }
+
+    private SetImportResponseDto runImport(int userId, String importId, InputStream csv) throws IOException {
+        long start = System.nanoTime();
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with id: " + userId);
+        }
+        SetImportCheckpoint checkpoint = setImportCheckpointRepository.findById(importId)
+                .orElseGet(() -> SetImportCheckpoint.builder().importId(importId).userId(userId).build());
+        if (checkpoint.getUserId() != userId) {
+            throw new IllegalArgumentException("Import " + importId + " belongs to another user");
+        }
+        long resumeAfter = checkpoint.getRowsCommitted();
+        ImportRun run = new ImportRun(userId, checkpoint, loadExerciseIds(userId));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String header = readRecord(reader, maxRecordLength);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        Columns columns = Columns.of(splitRecord(header));
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        long row = 0;
+        try {
+            List<String> records = new ArrayList<>(chunkSize);
+            long chunkFirstRow = 1;
+            for (String record; (record = readRecord(reader, maxRecordLength)) != null; ) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                row++;
+                if (row <= resumeAfter) {
+                    continue;
+                }
+                if (records.isEmpty()) {
+                    chunkFirstRow = row;
+                }
+                records.add(record);
+                if (records.size() == chunkSize) {
+                    inFlight.add(submit(columns, records, chunkFirstRow));
+                    records = new ArrayList<>(chunkSize);
+                    // Keep every parser busy while bounding how much parsed data waits for its commit.
+                    if (inFlight.size() > parallelism) {
+                        run.commit(inFlight.poll().get());
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                inFlight.add(submit(columns, records, chunkFirstRow));
+            }
+            while (!inFlight.isEmpty()) {
+                run.commit(inFlight.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import " + importId + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to parse import " + importId, e.getCause());
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        run.complete();
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        long rowsProcessed = row - Math.min(row, resumeAfter);
+        log.info("Imported {} of {} rows for user {} as {} in {} ms", run.rowsImported, rowsProcessed, userId, importId,
+                elapsedNanos / 1_000_000);
+        return SetImportResponseDto.builder()
+                .importId(importId)
+                .rowsRead(row)
+                .rowsResumed(Math.min(row, resumeAfter))
+                .rowsImported(run.rowsImported)
+                .rowsRejected(run.rowsRejected)
+                .exercisesCreated(run.exercisesCreated)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsProcessed * 1_000_000_000L / elapsedNanos)
+                .errors(run.errors)
+                .build();
+    }
+
+    private Future<ParsedChunk> submit(Columns columns, List<String> records, long firstRow) {
+        return parsers.submit(() -> parseChunk(columns, records, firstRow));
+    }
+
+    private Map<String, Integer> loadExerciseIds(int userId) {
+        Map<String, Integer> exerciseIds = new HashMap<>();
+        for (UserExerciseProjection exercise : userExcerciseRepository.findByUserId(userRepository.getReferenceById(userId))) {
+            exerciseIds.putIfAbsent(key(exercise.getWorkoutName(), exercise.getExerciseName()), exercise.getUserExcerciseId());
+        }
+        return exerciseIds;
+    }
+
+    private static String key(String workoutName, String exerciseName) {
+        return workoutName + KEY_SEPARATOR + exerciseName;
+    }
+
+    private static ParsedChunk parseChunk(Columns columns, List<String> records, long firstRow) {
+        ParsedChunk chunk = new ParsedChunk(firstRow + records.size() - 1, records.size());
+        long row = firstRow;
+        for (String record : records) {
+            try {
+                if (countQuotes(record) % 2 != 0) {
+                    throw new IllegalArgumentException("quoted field is not closed");
+                }
+                chunk.sets.add(columns.parse(splitRecord(record)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                chunk.errors.add("Row " + row + ": " + e.getMessage());
+            }
+            row++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads one CSV record, joining physical lines while a quoted field is still open. A stray quote
+     * would otherwise join the rest of the file into one record, so joining stops once the record is
+     * longer than {@code maxLength}; the record is returned with its quote still open, and rejected
+     * when its chunk is parsed.
+     */
+    private static String readRecord(BufferedReader reader, int maxLength) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        int quotes = countQuotes(line);
+        if (quotes % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (quotes % 2 != 0 && record.length() <= maxLength && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += countQuotes(line);
+        }
+        return record.toString();
+    }
+
+    private static int countQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Splits an RFC 4180 record into its fields.
+     */
+    static List<String> splitRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Column positions from the header row; columns are matched by name, in any order.
+     */
+    private static class Columns {
+        private final int dateTime;
+        private final int workoutName;
+        private final int exerciseName;
+        private final int setNumber;
+        private final int weight;
+        private final int reps;
+
+        private Columns(Map<String, Integer> positions) {
+            this.dateTime = required(positions, DATE_TIME);
+            this.workoutName = required(positions, WORKOUT_NAME);
+            this.exerciseName = required(positions, EXERCISE_NAME);
+            this.setNumber = positions.getOrDefault(SET_NUMBER, -1);
+            this.weight = required(positions, WEIGHT);
+            this.reps = required(positions, REPS);
+        }
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> positions = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            return new Columns(positions);
+        }
+
+        private static int required(Map<String, Integer> positions, String column) {
+            Integer position = positions.get(column);
+            if (position == null) {
+                throw new IllegalArgumentException("CSV header is missing the " + column + " column");
+            }
+            return position;
+        }
+
+        ImportedSet parse(List<String> fields) {
+            String workout = field(fields, workoutName);
+            String exercise = field(fields, exerciseName);
+            if (exercise.isEmpty()) {
+                throw new IllegalArgumentException(EXERCISE_NAME + " is empty");
+            }
+            int parsedWeight = number(fields, weight, WEIGHT);
+            int parsedReps = number(fields, reps, REPS);
+            int parsedSetNumber = setNumber >= 0 && !field(fields, setNumber).isEmpty() ? number(fields, setNumber, SET_NUMBER) : 1;
+            return new ImportedSet(workout, exercise, parsedSetNumber, parsedWeight, parsedReps, dateTime(field(fields, dateTime)));
+        }
+
+        private static String field(List<String> fields, int position) {
+            return position < fields.size() ? fields.get(position).trim() : "";
+        }
+
+        /**
+         * Whole numbers; decimal weights from other trackers are rounded to the nearest unit.
+         */
+        private static int number(List<String> fields, int position, String column) {
+            String value = field(fields, position);
+            try {
+                long rounded = Math.round(Double.parseDouble(value));
+                if (rounded < 0 || rounded > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException(column + " is out of range: " + value);
+                }
+                return (int) rounded;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a number: '" + value + "'");
+            }
+        }
+
+        private static LocalDateTime dateTime(String value) {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        }
+    }
+
+    private record ImportedSet(String workoutName, String exerciseName, int setNumber, int weight, int reps,
+                               LocalDateTime dateTime) {
+    }
+
+    private static class ParsedChunk {
+        private final long lastRow;
+        private final List<ImportedSet> sets;
+        private final List<String> errors = new ArrayList<>();
+
+        ParsedChunk(long lastRow, int size) {
+            this.lastRow = lastRow;
+            this.sets = new ArrayList<>(size);
+        }
+    }
+
+    /**
+     * State of one import while its chunks are committed in order.
+     */
+    private class ImportRun {
+        private final int userId;
+        private final Map<String, Integer> exerciseIds;
+        private final List<String> errors = new ArrayList<>();
+        private SetImportCheckpoint checkpoint;
+        private long rowsImported;
+        private long rowsRejected;
+        private int exercisesCreated;
+
+        ImportRun(int userId, SetImportCheckpoint checkpoint, Map<String, Integer> exerciseIds) {
+            this.userId = userId;
+            this.checkpoint = checkpoint;
+            this.exerciseIds = exerciseIds;
+        }
+
+        void commit(ParsedChunk chunk) {
+            Map<String, UserExcercise> created = new HashMap<>();
+            checkpoint = transactionTemplate.execute(status -> {
+                SetImportCheckpoint current = lockCheckpoint();
+                User user = userRepository.getReferenceById(userId);
+                List<UserWorkoutExcercise> sets = new ArrayList<>(chunk.sets.size());
+                for (ImportedSet set : chunk.sets) {
+                    String key = key(set.workoutName(), set.exerciseName());
+                    Integer userExcerciseId = exerciseIds.get(key);
+                    UserExcercise exercise = userExcerciseId != null
+                            ? userExcerciseRepository.getReferenceById(userExcerciseId)
+                            : created.computeIfAbsent(key, ignored -> UserExcercise.builder()
+                            .userId(user).workoutName(set.workoutName()).exerciseName(set.exerciseName()).build());
+                    sets.add(UserWorkoutExcercise.builder()
+                            .userExcercise(exercise)
+                            .setNumber(set.setNumber())
+                            .weight(set.weight())
+                            .reps(set.reps())
+                            .dateTime(set.dateTime())
+                            .build());
+                }
+                userExcerciseRepository.saveAll(created.values());
+                if (!sets.isEmpty()) {
+                    userWorkoutExcerciseService.saveImportedSets(sets, userId);
+                }
+                current.setRowsCommitted(chunk.lastRow);
+                current.setRowsImported(current.getRowsImported() + sets.size());
+                current.setUpdatedAt(LocalDateTime.now());
+                return current;
+            });
+            // Only committed exercises may be reused by later chunks.
+            created.forEach((key, exercise) -> exerciseIds.put(key, exercise.getUserExcerciseId()));
+            exercisesCreated += created.size();
+            rowsImported += chunk.sets.size();
+            rowsRejected += chunk.errors.size();
+            for (int i = 0; i < chunk.errors.size() && errors.size() < maxErrors; i++) {
+                errors.add(chunk.errors.get(i));
+            }
+            log.debug("Import {} committed through row {}", checkpoint.getImportId(), chunk.lastRow);
+        }
+
+        void complete() {
+            checkpoint = transactionTemplate.execute(status -> {
+                SetImportCheckpoint current = lockCheckpoint();
+                current.setCompleted(true);
+                current.setUpdatedAt(LocalDateTime.now());
+                return current;
+            });
+        }
+
+        /**
+         * Locks the checkpoint for the current transaction, failing it if another upload of the import
+         * committed since this one last did. A first upload inserts the checkpoint instead, and fails
+         * on its primary key if another first upload inserted it meanwhile.
+         */
+        private SetImportCheckpoint lockCheckpoint() {
+            Optional<SetImportCheckpoint> current = setImportCheckpointRepository.findForUpdate(checkpoint.getImportId());
+            if (current.isEmpty() && checkpoint.isNew()) {
+                try {
+                    return setImportCheckpointRepository.saveAndFlush(checkpoint);
+                } catch (DataIntegrityViolationException e) {
+                    throw new IllegalStateException("Import " + checkpoint.getImportId() + " is already running", e);
+                }
+            }
+            if (current.isEmpty() || current.get().getRowsCommitted() != checkpoint.getRowsCommitted()) {
+                throw new IllegalStateException("Import " + checkpoint.getImportId() + " is already running");
+            }
+            return current.get();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.workout.tracker.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the month partitions of the set table ahead of the calendar, splits months that landed in
+ * the default partition (such as imported history) into their own partitions, and detaches months
+ * older than the retention period. The partitioning functions themselves live in the V2 migration;
+ * PostgreSQL only.
+ */
+@Component
+@ConditionalOnProperty(name = "sets.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SetPartitionMaintenance {
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public SetPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                   @Value("${sets.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${sets.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${sets.partitions.cron:0 15 2 * * *}")
+    public void maintain() {
+        Integer created = jdbcTemplate.queryForObject("select ensure_set_partitions(1, ?)", Integer.class, monthsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} set partitions", created);
+        }
+        if (retentionMonths > 0) {
+            LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+            List<String> detached = jdbcTemplate.queryForList("select detach_set_partitions_before(?)", String.class, cutoff);
+            if (!detached.isEmpty()) {
+                log.info("Detached set partitions {}", detached);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.workout.tracker.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.workout.tracker.dto.request.WorkoutExcerciseRequestDto;
+import com.workout.tracker.dto.response.SetUploadChunkResultDto;
+import com.workout.tracker.dto.response.SetUploadResponseDto;
+import com.workout.tracker.dto.response.SetsAddedResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingests newline-delimited JSON sets as they are read from the request body and
+ * commits them in fixed-size chunks, each in its own transaction. Only one chunk
+ * is held in memory at a time, and a bad row fails its own chunk only.
+ */
+@Service
+@Slf4j
+public class SetStreamIngestionService {
+
+    private final UserWorkoutExcerciseService userWorkoutExcerciseService;
+    private final ObjectReader setReader;
+    private final int chunkSize;
+
+    public SetStreamIngestionService(UserWorkoutExcerciseService userWorkoutExcerciseService, ObjectMapper objectMapper,
+                                     @Value("${sets.upload.chunk-size:500}") int chunkSize) {
+        this.userWorkoutExcerciseService = userWorkoutExcerciseService;
+        this.setReader = objectMapper.readerFor(WorkoutExcerciseRequestDto.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public SetUploadResponseDto ingest(InputStream ndjson) throws IOException {
+        SetUploadResponseDto response = SetUploadResponseDto.builder().build();
+        List<WorkoutExcerciseRequestDto> chunk = new ArrayList<>(chunkSize);
+        long row = 0;
+        long chunkFirstRow = 1;
+        String chunkError = null;
+        try (MappingIterator<WorkoutExcerciseRequestDto> rows = setReader.readValues(ndjson)) {
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    chunk.add(rows.nextValue());
+                } catch (JsonMappingException e) {
+                    // The iterator resyncs to the next root value, so only this row is lost.
+                    if (chunkError == null) {
+                        chunkError = "Row " + row + ": " + e.getOriginalMessage();
+                    }
+                } catch (JsonProcessingException e) {
+                    // Malformed JSON leaves no reliable row boundary to resume from.
+                    long badRow = Math.max(row, chunkFirstRow);
+                    flushChunk(response, chunk, chunkFirstRow, badRow,
+                            "Row " + badRow + ": malformed JSON, upload stopped: " + e.getOriginalMessage());
+                    return response;
+                }
+                if (row - chunkFirstRow + 1 == chunkSize) {
+                    flushChunk(response, chunk, chunkFirstRow, row, chunkError);
+                    chunk.clear();
+                    chunkFirstRow = row + 1;
+                    chunkError = null;
+                }
+            }
+        }
+        if (row >= chunkFirstRow) {
+            flushChunk(response, chunk, chunkFirstRow, row, chunkError);
+        }
+        return response;
+    }
+
+    private void flushChunk(SetUploadResponseDto response, List<WorkoutExcerciseRequestDto> chunk,
+                            long firstRow, long lastRow, String error) {
+        SetUploadChunkResultDto.SetUploadChunkResultDtoBuilder result = SetUploadChunkResultDto.builder()
+                .chunk(response.getChunks().size() + 1)
+                .firstRow(firstRow)
+                .lastRow(lastRow);
+        if (error == null) {
+            try {
+                SetsAddedResponseDto saved = userWorkoutExcerciseService.addUserWorkoutExcercise(chunk);
+                result.savedCount(chunk.size()).status(SetUploadChunkResultDto.COMMITTED)
+                        .newPersonalRecords(saved.getNewPersonalRecords());
+                response.setChunksCommitted(response.getChunksCommitted() + 1);
+                response.setRowsSaved(response.getRowsSaved() + chunk.size());
+            } catch (Exception e) {
+                log.warn("Failed to commit set upload chunk for rows {}-{}", firstRow, lastRow, e);
+                error = e.getMessage();
+            }
+        }
+        if (error != null) {
+            result.status(SetUploadChunkResultDto.FAILED).error(error);
+            response.setChunksFailed(response.getChunksFailed() + 1);
+        }
+        response.setRowsRead(lastRow);
+        response.getChunks().add(result.build());
+    }
+}
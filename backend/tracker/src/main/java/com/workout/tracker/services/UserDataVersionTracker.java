@@ -0,0 +1,155 @@
+package com.workout.tracker.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workout.tracker.config.ReadYourWritesInterceptor;
+import com.workout.tracker.config.ReplicaRoutingDataSource;
+import com.workout.tracker.entities.UserDataVersion;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.UserDataVersionRepository;
+import com.workout.tracker.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user data version, bumped in every write transaction on a user's exercises, custom workouts or
+ * sets, and exposed as an ETag on the user's read endpoints.
+ * <p>
+ * The version is stored in the database, where it commits or rolls back with the write, and served
+ * from memory, so a conditional read answers 304 without a query. Writes through this instance update
+ * the memory once they commit; writes through other instances are picked up by polling for versions
+ * changed since the last poll. Either way a {@link UserDataChangedEvent} is published for users whose
+ * data changed unseen before their new version is served, so the per-instance state the tagged bodies
+ * are built from is refreshed first.
+ */
+@Service
+@Slf4j
+public class UserDataVersionTracker {
+    private static final int MAX_CACHED_VERSIONS = 100_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserDataVersionRepository userDataVersionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration pollOverlap;
+    private final Cache<Integer, Long> versions = Caffeine.newBuilder().maximumSize(MAX_CACHED_VERSIONS).build();
+    private LocalDateTime changedSince;
+
+    public UserDataVersionTracker(UserDataVersionRepository userDataVersionRepository, UserRepository userRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${user-data.version.poll-overlap:1m}") Duration pollOverlap) {
+        this.userDataVersionRepository = userDataVersionRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.pollOverlap = pollOverlap;
+    }
+
+    public long currentVersion(int userId) {
+        Long version = versions.getIfPresent(userId);
+        return version != null ? version : loadVersion(userId);
+    }
+
+    /**
+     * Must be read before the data it describes, so a response can only carry a tag that is as old
+     * as its body or older.
+     */
+    public String eTag(int userId) {
+        return "\"" + userId + "-" + currentVersion(userId) + "\"";
+    }
+
+    /**
+     * Tag for a response that also depends on something other than the user's data, such as today's
+     * date.
+     */
+    public String eTag(int userId, String qualifier) {
+        return "\"" + userId + "-" + currentVersion(userId) + "-" + qualifier + "\"";
+    }
+
+    /**
+     * Bumps the user's version in the current write transaction, so the new version commits or rolls
+     * back with the write, and serves it once it commits. The response to the request that wrote, if
+     * any, tells the client it wrote, so its next reads go to the primary.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordWrite(int userId) {
+        if (userDataVersionRepository.incrementVersion(userId) == 0) {
+            // First write for the user: the user's row lock keeps two first writes from both inserting.
+            userRepository.lockUserId(userId);
+            if (userDataVersionRepository.incrementVersion(userId) == 0) {
+                userDataVersionRepository.insertFirstVersion(userId);
+            }
+        }
+        // The row stays locked until commit, so this is the version the write commits.
+        long version = userDataVersionRepository.findVersionByUserId(userId).orElseThrow();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.asMap().merge(userId, version, Math::max);
+                ReadYourWritesInterceptor.markWrite();
+            }
+        });
+    }
+
+    /**
+     * Picks up versions changed through other instances. Rows are polled by update time with an
+     * overlap, so a write whose transaction started before the previous poll but committed after it is
+     * still seen, as long as it took less than the overlap.
+     */
+    @Scheduled(fixedDelayString = "${user-data.version.poll-interval:PT1S}",
+            initialDelayString = "${user-data.version.poll-initial-delay:PT1S}")
+    public void pollChanges() {
+        ReplicaRoutingDataSource.runOnPrimary(() -> {
+            if (changedSince == null) {
+                // Changes before the first poll are already in the state this instance loaded at startup.
+                changedSince = userDataVersionRepository.findLatestUpdate().orElse(EPOCH).minus(pollOverlap);
+            }
+            List<UserDataVersion> changed = userDataVersionRepository.findChangedSince(changedSince);
+            Map<Integer, Long> newer = new HashMap<>();
+            LocalDateTime latest = changedSince;
+            for (UserDataVersion row : changed) {
+                Long known = versions.getIfPresent(row.getUserId());
+                if (known == null || known < row.getVersion()) {
+                    newer.put(row.getUserId(), row.getVersion());
+                }
+                if (row.getUpdatedAt().isAfter(latest)) {
+                    latest = row.getUpdatedAt();
+                }
+            }
+            LocalDateTime next = latest.minus(pollOverlap);
+            if (next.isAfter(changedSince)) {
+                changedSince = next;
+            }
+            if (!newer.isEmpty()) {
+                log.debug("Data of {} users changed through other instances", newer.size());
+                serve(newer);
+            }
+        });
+    }
+
+    private long loadVersion(int userId) {
+        long version = ReplicaRoutingDataSource.onPrimary(() -> userDataVersionRepository.findVersionByUserId(userId))
+                .orElse(0L);
+        // Read after the version, so whatever the refresh loads is at least as new as the tag.
+        serve(Map.of(userId, version));
+        return versions.asMap().getOrDefault(userId, version);
+    }
+
+    private void serve(Map<Integer, Long> changed) {
+        eventPublisher.publishEvent(new UserDataChangedEvent(Set.copyOf(changed.keySet())));
+        changed.forEach((userId, version) -> versions.asMap().merge(userId, version, Math::max));
+    }
+}
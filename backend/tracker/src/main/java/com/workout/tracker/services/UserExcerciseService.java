@@ -9,6 +9,7 @@ import com.workout.tracker.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,14 +19,18 @@ public class UserExcerciseService {
 
     private final UserExcerciseRepository userExcerciseRepository;
     private final UserRepository userRepository;
+    private final UserDataVersionTracker userDataVersionTracker;
 
 
     @Autowired
-    public UserExcerciseService(UserExcerciseRepository userExcerciseRepository, UserRepository userRepository) {
+    public UserExcerciseService(UserExcerciseRepository userExcerciseRepository, UserRepository userRepository,
+                                UserDataVersionTracker userDataVersionTracker) {
         this.userExcerciseRepository = userExcerciseRepository;
         this.userRepository = userRepository;
+        this.userDataVersionTracker = userDataVersionTracker;
     }
 
+    @Transactional
     public void addUserExcercise(ExerciseRequestDto exerciseRequestDto){
         UserExcercise userExcercise = UserExcercise.builder()
                 .userId(userRepository.findById(exerciseRequestDto.getUserId()).get())
@@ -33,9 +38,11 @@ public class UserExcerciseService {
                 .exerciseName(exerciseRequestDto.getExcerciseName())
                 .build();
         userExcerciseRepository.save(userExcercise);
+        userDataVersionTracker.recordWrite(exerciseRequestDto.getUserId());
     }
 
+    @Transactional(readOnly = true)
     public List<UserExerciseProjection> viewUserExercise(int userId){
-        return userExcerciseRepository.findByUserId(userRepository.findById(userId).get());
+        return userExcerciseRepository.findByUserId(userRepository.getReferenceById(userId));
     }
 }
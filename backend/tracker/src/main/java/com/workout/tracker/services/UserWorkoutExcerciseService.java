@@ -1,62 +1,349 @@
 package com.workout.tracker.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.tracker.config.ReplicaRoutingDataSource;
 import com.workout.tracker.dto.request.UserWorkoutExerciseDTO;
 import com.workout.tracker.dto.request.WorkoutExcerciseRequestDto;
+import com.workout.tracker.dto.response.PersonalRecordDto;
+import com.workout.tracker.dto.response.SetPageDto;
+import com.workout.tracker.dto.response.SetsAddedResponseDto;
+import com.workout.tracker.entities.SetJournalCheckpoint;
+import com.workout.tracker.entities.SetJournalDeadLetter;
 import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.events.LoggedSet;
+import com.workout.tracker.events.SetDeletedEvent;
+import com.workout.tracker.events.SetsAddedEvent;
+import com.workout.tracker.journal.JournalEntry;
+import com.workout.tracker.journal.SetJournal;
+import com.workout.tracker.repositories.SetJournalCheckpointRepository;
+import com.workout.tracker.repositories.SetJournalDeadLetterRepository;
 import com.workout.tracker.repositories.UserExcerciseRepository;
 import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.workout.tracker.utils.Constants.SUCCESS_MESSAGE;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserWorkoutExcerciseService {
     private final UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
     private final UserExcerciseRepository userExcerciseRepository;
+    private final SetJournalCheckpointRepository setJournalCheckpointRepository;
+    private final SetJournalDeadLetterRepository setJournalDeadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final Optional<SetJournal> setJournal;
+    private final UserDataVersionTracker userDataVersionTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PersonalRecordService personalRecordService;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary requestBatchSize;
+    private final DistributionSummary journalBatchSize;
+    private final DistributionSummary importBatchSize;
+
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String CURSOR_SEPARATOR = "_";
+
+    public UserWorkoutExcerciseService(UserWorkoutExcerciseRepository userWorkoutExcerciseRepository,
+                                       UserExcerciseRepository userExcerciseRepository,
+                                       SetJournalCheckpointRepository setJournalCheckpointRepository,
+                                       SetJournalDeadLetterRepository setJournalDeadLetterRepository,
+                                       ObjectMapper objectMapper, Optional<SetJournal> setJournal,
+                                       UserDataVersionTracker userDataVersionTracker,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PersonalRecordService personalRecordService, MeterRegistry meterRegistry,
+                                       TransactionTemplate transactionTemplate) {
+        this.userWorkoutExcerciseRepository = userWorkoutExcerciseRepository;
+        this.userExcerciseRepository = userExcerciseRepository;
+        this.setJournalCheckpointRepository = setJournalCheckpointRepository;
+        this.setJournalDeadLetterRepository = setJournalDeadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.setJournal = setJournal;
+        this.userDataVersionTracker = userDataVersionTracker;
+        this.eventPublisher = eventPublisher;
+        this.personalRecordService = personalRecordService;
+        this.transactionTemplate = transactionTemplate;
+        this.requestBatchSize = batchSize(meterRegistry, "request");
+        this.journalBatchSize = batchSize(meterRegistry, "journal");
+        this.importBatchSize = batchSize(meterRegistry, "import");
+    }
+
+    /**
+     * Saves the sets, or in write-behind mode appends them to the set journal and returns once the
+     * journal is on disk; the database insert then happens in a later batch. In write-behind mode the
+     * exercises are checked in their own short transaction, so no connection is held while the journal
+     * syncs.
+     *
+     * @return the personal records the sets set or improved; always empty in write-behind mode
+     */
+    public SetsAddedResponseDto addUserWorkoutExcercise(List<WorkoutExcerciseRequestDto> workoutExcerciseRequestDtos){
+        requestBatchSize.record(workoutExcerciseRequestDtos.size());
+        LocalDateTime now = LocalDateTime.now();
+        if (setJournal.isPresent()) {
+            // On the primary, so an exercise created just before is found even when reads go to a replica.
+            ReplicaRoutingDataSource.onPrimary(() -> validateUserExcercisesExist(workoutExcerciseRequestDtos));
+            List<JournalEntry> entries = new ArrayList<>(workoutExcerciseRequestDtos.size());
+            workoutExcerciseRequestDtos.forEach(workoutExcerciseRequestDto -> entries.add(new JournalEntry(
+                    workoutExcerciseRequestDto.getUserExcerciseId(), workoutExcerciseRequestDto.getSetNumber(),
+                    workoutExcerciseRequestDto.getWeight(), workoutExcerciseRequestDto.getReps(), now)));
+            long sequence = setJournal.get().append(entries);
+            log.debug("Journaled {} exercise sets as record {}", entries.size(), sequence);
+            return SetsAddedResponseDto.builder().savedCount(entries.size()).journaled(true).build();
+        }
+        return transactionTemplate.execute(status -> {
+            Map<Integer, Integer> owners = validateUserExcercisesExist(workoutExcerciseRequestDtos);
+            List<UserWorkoutExcercise> userWorkoutExcercises = new ArrayList<>(workoutExcerciseRequestDtos.size());
+            workoutExcerciseRequestDtos.forEach(workoutExcerciseRequestDto -> userWorkoutExcercises.add(UserWorkoutExcercise.builder()
+                    .userExcercise(userExcerciseRepository.getReferenceById(workoutExcerciseRequestDto.getUserExcerciseId()))
+                            .setNumber(workoutExcerciseRequestDto.getSetNumber())
+                            .weight(workoutExcerciseRequestDto.getWeight())
+                            .reps(workoutExcerciseRequestDto.getReps())
+                            .dateTime(now)
+                    .build()));
+            return SetsAddedResponseDto.builder()
+                    .savedCount(userWorkoutExcercises.size())
+                    .newPersonalRecords(saveSets(userWorkoutExcercises, owners))
+                    .build();
+        });
+    }
 
-    public void addUserWorkoutExcercise(List<WorkoutExcerciseRequestDto> workoutExcerciseRequestDtos){
-        List<UserWorkoutExcercise> userWorkoutExcercises = new ArrayList<>();
-        workoutExcerciseRequestDtos.forEach(workoutExcerciseRequestDto -> userWorkoutExcercises.add(UserWorkoutExcercise.builder()
-                .userExcercise(userExcerciseRepository.findById(workoutExcerciseRequestDto.getUserExcerciseId()).get())
-                        .setNumber(workoutExcerciseRequestDto.getSetNumber())
-                        .weight(workoutExcerciseRequestDto.getWeight())
-                        .reps(workoutExcerciseRequestDto.getReps())
-                        .dateTime(LocalDateTime.now())
+    /**
+     * Inserts sets drained from the journal and records the last journal sequence they cover in the
+     * same transaction.
+     */
+    @Transactional
+    public void saveJournaledSets(List<JournalEntry> entries, String journalId, long lastSequence) {
+        journalBatchSize.record(entries.size());
+        List<UserWorkoutExcercise> userWorkoutExcercises = new ArrayList<>(entries.size());
+        entries.forEach(entry -> userWorkoutExcercises.add(UserWorkoutExcercise.builder()
+                .userExcercise(userExcerciseRepository.getReferenceById(entry.getUserExcerciseId()))
+                .setNumber(entry.getSetNumber())
+                .weight(entry.getWeight())
+                .reps(entry.getReps())
+                .dateTime(entry.getDateTime())
                 .build()));
-        log.info(userWorkoutExcercises.toString());
+        saveSets(userWorkoutExcercises, findOwners(entries.stream().map(JournalEntry::getUserExcerciseId).toList()));
+        setJournalCheckpointRepository.save(new SetJournalCheckpoint(journalId, lastSequence));
+    }
+
+    /**
+     * Inserts a chunk of imported sets for one user's exercises, keeping the same derived data up to
+     * date as any other write. Must run in the import's chunk transaction.
+     */
+    @Transactional
+    public void saveImportedSets(List<UserWorkoutExcercise> userWorkoutExcercises, int userId) {
+        importBatchSize.record(userWorkoutExcercises.size());
+        Map<Integer, Integer> owners = new HashMap<>();
+        userWorkoutExcercises.forEach(set -> owners.put(set.getUserExcercise().getUserExcerciseId(), userId));
+        saveSets(userWorkoutExcercises, owners);
+    }
+
+    /**
+     * Sets a journal record aside instead of inserting it, advancing the checkpoint past it in the same
+     * transaction.
+     */
+    @Transactional
+    public void deadLetterJournaledSets(List<JournalEntry> entries, String journalId, long sequence, String error) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize journal record " + sequence, e);
+        }
+        setJournalDeadLetterRepository.save(SetJournalDeadLetter.builder()
+                .journalId(journalId)
+                .journalSequence(sequence)
+                .entries(json)
+                .error(error == null ? null : error.substring(0, Math.min(error.length(), 1000)))
+                .createdAt(LocalDateTime.now())
+                .build());
+        setJournalCheckpointRepository.save(new SetJournalCheckpoint(journalId, sequence));
+    }
+
+    @Transactional(readOnly = true)
+    public long getJournalCheckpoint(String journalId) {
+        return setJournalCheckpointRepository.findById(journalId)
+                .map(SetJournalCheckpoint::getLastSequence)
+                .orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Integer> findMissingUserExcerciseIds(Collection<Integer> userExcerciseIds) {
+        Set<Integer> missingIds = new HashSet<>(userExcerciseIds);
+        missingIds.removeAll(findOwners(missingIds).keySet());
+        return missingIds;
+    }
+
+    /**
+     * @param owners owning user id of each exercise the sets belong to, keyed by exercise id
+     * @return the personal records the sets set or improved
+     */
+    private List<PersonalRecordDto> saveSets(List<UserWorkoutExcercise> userWorkoutExcercises, Map<Integer, Integer> owners) {
+        log.debug("Saving {} exercise sets", userWorkoutExcercises.size());
+        userWorkoutExcercises.forEach(set -> set.setUserId(owners.get(set.getUserExcercise().getUserExcerciseId())));
         userWorkoutExcerciseRepository.saveAll(userWorkoutExcercises);
+        new HashSet<>(owners.values()).forEach(userDataVersionTracker::recordWrite);
+        List<LoggedSet> loggedSets = new ArrayList<>(userWorkoutExcercises.size());
+        userWorkoutExcercises.forEach(set -> {
+            int userExcerciseId = set.getUserExcercise().getUserExcerciseId();
+            loggedSets.add(new LoggedSet(set.getUserWorkoutExcerciseId(), owners.get(userExcerciseId), userExcerciseId,
+                    set.getWeight(), set.getReps(), set.getDateTime()));
+        });
+        eventPublisher.publishEvent(new SetsAddedEvent(loggedSets));
+        // After the event, so the daily summaries that session volume records compare against are current.
+        return personalRecordService.recordSets(loggedSets);
     }
 
+    /**
+     * @return the owning user id of each requested exercise, keyed by exercise id
+     */
+    private Map<Integer, Integer> validateUserExcercisesExist(List<WorkoutExcerciseRequestDto> workoutExcerciseRequestDtos) {
+        Set<Integer> requestedIds = workoutExcerciseRequestDtos.stream()
+                .map(WorkoutExcerciseRequestDto::getUserExcerciseId)
+                .collect(Collectors.toSet());
+        Map<Integer, Integer> owners = findOwners(requestedIds);
+        if (owners.size() != requestedIds.size()) {
+            Set<Integer> missingIds = new HashSet<>(requestedIds);
+            missingIds.removeAll(owners.keySet());
+            throw new EntityNotFoundException("UserExcercise not found with id(s): " + missingIds);
+        }
+        return owners;
+    }
+
+    private Map<Integer, Integer> findOwners(Collection<Integer> userExcerciseIds) {
+        if (userExcerciseIds.isEmpty()) {
+            return Map.of();
+        }
+        return userExcerciseRepository.findOwners(userExcerciseIds);
+    }
+
+    private static DistributionSummary batchSize(MeterRegistry meterRegistry, String source) {
+        return DistributionSummary.builder("sets.ingest.batch.size").baseUnit("sets").tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
     public List<UserWorkoutExerciseDTO> getAllAddedSets() {
-        List<UserWorkoutExcercise> userWorkoutExcercises = userWorkoutExcerciseRepository.findAll();
-        return userWorkoutExcercises.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return userWorkoutExcerciseRepository.findAllSets();
+    }
+
+    @Transactional(readOnly = true)
+    public SetPageDto getAddedSetsPage(int userId, Integer userExcerciseId, LocalDateTime from, LocalDateTime to,
+                                       String cursor, int limit) {
+        LocalDateTime cursorDateTime = cursor != null ? decodeCursorDateTime(cursor) : upperBound(to);
+        int cursorId = cursor != null ? decodeCursorId(cursor) : Integer.MAX_VALUE;
+        List<UserWorkoutExerciseDTO> sets = userWorkoutExcerciseRepository.findSetPage(userId, userExcerciseId,
+                lowerBound(from), cursorDateTime, cursorId, Limit.of(limit + 1));
+        if (sets.size() <= limit) {
+            return SetPageDto.builder().items(sets).build();
+        }
+        List<UserWorkoutExerciseDTO> page = new ArrayList<>(sets.subList(0, limit));
+        return SetPageDto.builder().items(page).nextCursor(encodeCursor(page.get(limit - 1))).build();
+    }
+
+    /**
+     * Writes the same envelope as {@link #getAddedSetsPage} straight to the output stream, reading
+     * rows through a forward-only cursor so memory use does not grow with the number of sets.
+     */
+    @Transactional(readOnly = true)
+    public void streamAddedSets(int userId, Integer userExcerciseId, LocalDateTime from, LocalDateTime to,
+                                String cursor, Integer limit, OutputStream outputStream) throws IOException {
+        LocalDateTime cursorDateTime = cursor != null ? decodeCursorDateTime(cursor) : upperBound(to);
+        int cursorId = cursor != null ? decodeCursorId(cursor) : Integer.MAX_VALUE;
+        try (Stream<UserWorkoutExerciseDTO> sets = userWorkoutExcerciseRepository.streamSetPage(userId, userExcerciseId,
+                lowerBound(from), cursorDateTime, cursorId, limit != null ? Limit.of(limit + 1) : Limit.unlimited());
+             JsonGenerator json = objectMapper.createGenerator(outputStream)
+                     .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)) {
+            json.writeStartObject();
+            json.writeStringField("status", SUCCESS_MESSAGE);
+            json.writeObjectFieldStart("body");
+            json.writeArrayFieldStart("items");
+            UserWorkoutExerciseDTO last = null;
+            int count = 0;
+            boolean more = false;
+            for (Iterator<UserWorkoutExerciseDTO> iterator = sets.iterator(); iterator.hasNext(); count++) {
+                UserWorkoutExerciseDTO set = iterator.next();
+                if (limit != null && count == limit) {
+                    // The extra row only tells whether another page exists; it belongs to that page.
+                    more = true;
+                    break;
+                }
+                last = set;
+                json.writeObject(set);
+            }
+            json.writeEndArray();
+            json.writeStringField("nextCursor", more ? encodeCursor(last) : null);
+            json.writeEndObject();
+            json.writeStringField("message", "Retrieved added sets successfully!");
+            json.writeEndObject();
+        }
     }
 
-    private UserWorkoutExerciseDTO mapToDTO(UserWorkoutExcercise entity) {
-        return UserWorkoutExerciseDTO.builder()
-                .userWorkoutExcerciseId(entity.getUserWorkoutExcerciseId())
-                .setNumber(entity.getSetNumber())
-                .userExcerciseId(entity.getUserExcercise().getUserExcerciseId())
-                .weight(entity.getWeight())
-                .reps(entity.getReps())
-                .dateTime(entity.getDateTime())
-                .build();
+    private static LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : MIN_DATE_TIME;
+    }
+
+    private static LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : MAX_DATE_TIME;
+    }
+
+    private static String encodeCursor(UserWorkoutExerciseDTO set) {
+        String keyset = set.getDateTime() + CURSOR_SEPARATOR + set.getUserWorkoutExcerciseId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime decodeCursorDateTime(String cursor) {
+        return LocalDateTime.parse(decodeCursor(cursor)[0]);
+    }
+
+    private static int decodeCursorId(String cursor) {
+        return Integer.parseInt(decodeCursor(cursor)[1]);
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String[] keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR);
+        if (keyset.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return keyset;
     }
 
+    @Transactional
     public void deleteSet(int userWorkoutExerciseId) {
         try {
-            if (userWorkoutExcerciseRepository.existsById(userWorkoutExerciseId)) {
-                userWorkoutExcerciseRepository.deleteById(userWorkoutExerciseId);
+            Optional<LoggedSet> loggedSet = userWorkoutExcerciseRepository.findLoggedSet(userWorkoutExerciseId);
+            if (loggedSet.isPresent()) {
+                userWorkoutExcerciseRepository.deleteSet(userWorkoutExerciseId, loggedSet.get().getDateTime());
+                userDataVersionTracker.recordWrite(loggedSet.get().getUserId());
+                eventPublisher.publishEvent(new SetDeletedEvent(loggedSet.get()));
+                personalRecordService.repairAfterDelete(loggedSet.get());
                 log.info("Deleted UserWorkoutExercise with ID: {}", userWorkoutExerciseId);
             } else {
                 log.warn("UserWorkoutExercise with ID: {} not found", userWorkoutExerciseId);
@@ -2,16 +2,15 @@ package com.workout.tracker.services;
 
 import com.workout.tracker.entities.User;
 import com.workout.tracker.entities.UserWorkout;
+import com.workout.tracker.projection.UserWorkoutProjection;
 import com.workout.tracker.repositories.UserRepository;
 import com.workout.tracker.repositories.UserWorkoutRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Service
 @Slf4j
@@ -21,36 +20,37 @@ public class UserWorkoutService {
 
     private final UserRepository userRepository;
 
+    private final UserDataVersionTracker userDataVersionTracker;
+
     @Autowired
-    public UserWorkoutService(UserWorkoutRepository userWorkoutRepository, UserRepository userRepository) {
+    public UserWorkoutService(UserWorkoutRepository userWorkoutRepository, UserRepository userRepository,
+                              UserDataVersionTracker userDataVersionTracker) {
         this.userWorkoutRepository = userWorkoutRepository;
         this.userRepository = userRepository;
+        this.userDataVersionTracker = userDataVersionTracker;
     }
 
+    @Transactional
     public int addUserWorkout(int userId, String workoutName){
         UserWorkout userWorkout = UserWorkout.builder()
                 .userId(userRepository.findById(userId).get())
                         .workoutName(workoutName).build();
         UserWorkout savedWorkout = userWorkoutRepository.save(userWorkout);
+        userDataVersionTracker.recordWrite(userId);
         return savedWorkout.getUserWorkoutId();
     }
 
-    public List<Map<String, Object>> viewUserWorkout(int userId){
-        List<Object[]> resultList = userWorkoutRepository.findByUserId(userId);
-        List<Map<String, Object>> workoutList = new ArrayList<>();
-        for (Object[] result : resultList) {
-            Map<String, Object> workoutMap = new HashMap<>();
-            workoutMap.put("userWorkoutId", result[0]);
-            workoutMap.put("workoutName", result[1]);
-            workoutList.add(workoutMap);
-        }
-        return workoutList;
+    @Transactional(readOnly = true)
+    public List<UserWorkoutProjection> viewUserWorkout(int userId){
+        return userWorkoutRepository.findByUserId(userId);
     }
 
+    @Transactional
     public void deleteUserWorkoutById(int userWorkoutId) {
-        userWorkoutRepository.findById(userWorkoutId)
+        UserWorkout userWorkout = userWorkoutRepository.findById(userWorkoutId)
                 .orElseThrow(() -> new IllegalArgumentException("Workout not found with ID: " + userWorkoutId));
 
         userWorkoutRepository.deleteUserWorkoutById(userWorkoutId);
+        userDataVersionTracker.recordWrite(userWorkout.getUserId().getUserId());
     }
 }
@@ -0,0 +1,17 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.entities.Workout;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the workout catalog together with its serialized /workouts response and
+ * the strong ETag of those bytes.
+ */
+@Value
+public class WorkoutCatalog {
+    List<Workout> workouts;
+    byte[] responseJson;
+    String eTag;
+}
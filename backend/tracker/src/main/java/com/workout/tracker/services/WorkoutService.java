@@ -1,27 +1,50 @@
 package com.workout.tracker.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.tracker.config.ReplicaRoutingDataSource;
 import com.workout.tracker.entities.Workout;
+import com.workout.tracker.events.WorkoutAddedEvent;
 import com.workout.tracker.repositories.WorkoutRepository;
+import com.workout.tracker.utils.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.workout.tracker.utils.Constants.SUCCESS_MESSAGE;
+import static com.workout.tracker.utils.HashUtils.sha256Hex;
 
 @Service
 @Slf4j
 public class WorkoutService {
+    static final String WORKOUTS_FETCHED_MESSAGE = "Successfully fetched records!";
+
     private WorkoutRepository workoutRepository;
+    private ObjectMapper objectMapper;
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile WorkoutCatalog catalog;
 
     @Autowired
-    public WorkoutService(WorkoutRepository workoutRepository) {
+    public WorkoutService(WorkoutRepository workoutRepository, ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher) {
         this.workoutRepository = workoutRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public void addWorkout(String workoutType){
         Workout workout = Workout.builder().workoutType(workoutType).build();
         try{
             workoutRepository.save(workout);
+            eventPublisher.publishEvent(new WorkoutAddedEvent(workout.getWorkoutId()));
         } catch (Exception e){
             log.info(e.getMessage());
             throw new RuntimeException(e.getMessage());
@@ -29,11 +52,40 @@ public class WorkoutService {
     }
 
     public List<Workout> getAllWorkouts(){
+        return getCatalog().getWorkouts();
+    }
+
+    /**
+     * Returns the current catalog snapshot, loading it on first use. Reads never touch the database
+     * once a snapshot exists; it is replaced only after a workout is added.
+     */
+    public WorkoutCatalog getCatalog() {
+        WorkoutCatalog current = catalog;
+        return current != null ? current : rebuildCatalog();
+    }
+
+    @TransactionalEventListener
+    public void onWorkoutAdded(WorkoutAddedEvent event) {
+        // A replica may not have the new workout yet.
+        ReplicaRoutingDataSource.onPrimary(this::rebuildCatalog);
+    }
+
+    private WorkoutCatalog rebuildCatalog() {
+        // Rebuilds are serialized so a slower rebuild that read an older catalog cannot replace a newer one.
+        rebuildLock.lock();
         try {
-            return workoutRepository.findAll();
+            List<Workout> workouts = List.copyOf(workoutRepository.findAll());
+            byte[] responseJson = objectMapper.writeValueAsBytes(ApiResponse.builder()
+                    .status(SUCCESS_MESSAGE).body(workouts).message(WORKOUTS_FETCHED_MESSAGE).build());
+            WorkoutCatalog rebuilt = new WorkoutCatalog(workouts, responseJson, "\"" + sha256Hex(responseJson) + "\"");
+            catalog = rebuilt;
+            log.debug("Rebuilt workout catalog with {} workouts", workouts.size());
+            return rebuilt;
         } catch (Exception e){
             log.info(e.getMessage());
             throw new RuntimeException(e.getMessage());
+        } finally {
+            rebuildLock.unlock();
         }
     }
 }
@@ -1,8 +1,12 @@
 package com.workout.tracker.utils;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static com.workout.tracker.utils.Constants.SUCCESS_MESSAGE;
@@ -13,7 +17,24 @@ public class ResponseEntityUtils {
         return new ResponseEntity<>( ApiResponse.builder().status(SUCCESS_MESSAGE).body(body).message(message).build(), HttpStatus.OK);
     }
 
+    public static<T> ResponseEntity<?> createSuccessResponse(T body, String message, String eTag){
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache())
+                .body(ApiResponse.builder().status(SUCCESS_MESSAGE).body(body).message(message).build());
+    }
+
     public static<T> ResponseEntity<?> createErrorResponse(String message){
         return new ResponseEntity<>(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * The error response of an endpoint that streams its body, which must stay a streaming body.
+     */
+    public static ResponseEntity<StreamingResponseBody> createStreamingErrorResponse(String message){
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static<T> ResponseEntity<?> createServiceUnavailableResponse(String message){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(message);
+    }
 }
@@ -0,0 +1,15 @@
+package com.workout.tracker.utils;
+
+public class StrengthUtils {
+
+    /**
+     * Epley estimate, matching the frontend: a single is its own 1RM, and sets without weight or
+     * reps do not count.
+     */
+    public static double estimatedOneRepMax(int weight, int reps) {
+        if (weight <= 0 || reps <= 0) {
+            return 0;
+        }
+        return reps == 1 ? weight : weight * (1 + reps / 30.0);
+    }
+}
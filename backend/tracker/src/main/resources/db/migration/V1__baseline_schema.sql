@@ -0,0 +1,154 @@
+-- Schema previously generated by Hibernate (ddl-auto=create-drop), now owned by migrations.
+-- The set table is created partitioned in V2.
+
+create sequence user_details_seq start with 1 increment by 50;
+create sequence user_x_excercise_seq start with 1 increment by 50;
+create sequence user_x_workout_seq start with 1 increment by 50;
+create sequence workout_seq start with 1 increment by 50;
+create sequence refresh_token_seq start with 1 increment by 50;
+create sequence personal_record_seq start with 1 increment by 50;
+create sequence summary_outbox_seq start with 1 increment by 50;
+
+create table user_details (
+    user_id integer not null,
+    name varchar(255),
+    email_id varchar(255),
+    password varchar(255),
+    token_version integer not null,
+    primary key (user_id)
+);
+
+create table workout (
+    workout_id integer not null,
+    workout_type varchar(255),
+    primary key (workout_id)
+);
+
+create table user_x_excercise (
+    user_excercise_id integer not null,
+    user_id integer,
+    workout_name varchar(255),
+    exercise_name varchar(255),
+    primary key (user_excercise_id),
+    constraint fk_user_x_excercise_user foreign key (user_id) references user_details
+);
+create index idx_user_x_excercise_user on user_x_excercise (user_id);
+
+create table user_x_workout (
+    user_workout_id integer not null,
+    user_id integer,
+    workout_name varchar(255),
+    primary key (user_workout_id),
+    constraint fk_user_x_workout_user foreign key (user_id) references user_details
+);
+create index idx_user_x_workout_user on user_x_workout (user_id);
+
+create table refresh_token (
+    refresh_token_id bigint not null,
+    user_id integer not null,
+    family_id varchar(36) not null,
+    token_hash varchar(64) not null,
+    expires_at timestamp(6),
+    used boolean not null,
+    primary key (refresh_token_id),
+    constraint idx_refresh_token_hash unique (token_hash),
+    constraint fk_refresh_token_user foreign key (user_id) references user_details
+);
+create index idx_refresh_token_family on refresh_token (family_id);
+
+-- Keyed exercise first: every query reads one exercise's days.
+create table exercise_daily_summary (
+    user_excercise_id integer not null,
+    summary_date date not null,
+    user_id integer,
+    best_estimated_one_rep_max float(53) not null,
+    top_set_weight integer not null,
+    top_set_reps integer not null,
+    volume bigint not null,
+    set_count integer not null,
+    total_reps bigint not null,
+    total_weight bigint not null,
+    max_reps integer not null,
+    primary key (user_excercise_id, summary_date)
+);
+create index idx_exercise_daily_summary_user_date on exercise_daily_summary (user_id, summary_date);
+
+create table personal_record (
+    personal_record_id integer not null,
+    user_excercise_id integer,
+    user_id integer,
+    record_type varchar(32) check (record_type in ('HEAVIEST_WEIGHT','MOST_REPS_AT_WEIGHT','BEST_ESTIMATED_ONE_REP_MAX','BEST_SESSION_VOLUME')),
+    weight_key integer,
+    record_value float(53),
+    weight integer not null,
+    reps integer not null,
+    user_workout_excercise_id integer,
+    achieved_at timestamp(6),
+    primary key (personal_record_id),
+    constraint uk_personal_record unique (user_excercise_id, record_type, weight_key)
+);
+
+create table plateau (
+    user_excercise_id integer not null,
+    user_id integer,
+    last_progress_date date,
+    peak_weight integer not null,
+    peak_estimated_one_rep_max float(53) not null,
+    detected_at timestamp(6),
+    primary key (user_excercise_id)
+);
+create index idx_plateau_user on plateau (user_id);
+
+create table exercise_performance_summary (
+    user_excercise_id integer not null,
+    user_id integer,
+    total_sets bigint not null,
+    total_reps bigint not null,
+    total_volume bigint not null,
+    total_weight bigint not null,
+    max_weight integer not null,
+    max_reps integer not null,
+    best_estimated_one_rep_max float(53) not null,
+    first_performed date,
+    last_performed date,
+    days_performed integer not null,
+    updated_at timestamp(6),
+    primary key (user_excercise_id)
+);
+create index idx_exercise_performance_user on exercise_performance_summary (user_id);
+
+create table weekly_volume_trend (
+    user_id integer not null,
+    week_start date not null,
+    workouts_count integer not null,
+    total_volume bigint not null,
+    total_sets bigint not null,
+    unique_exercises integer not null,
+    updated_at timestamp(6),
+    primary key (user_id, week_start)
+);
+
+create table summary_outbox (
+    outbox_id bigint not null,
+    user_id integer,
+    user_excercise_id integer,
+    summary_date date,
+    created_at timestamp(6),
+    primary key (outbox_id)
+);
+
+create table set_journal_checkpoint (
+    journal_id varchar(255) not null,
+    last_sequence bigint not null,
+    primary key (journal_id)
+);
+
+create table set_import_checkpoint (
+    import_id varchar(64) not null,
+    user_id integer,
+    rows_committed bigint not null,
+    rows_imported bigint not null,
+    completed boolean not null,
+    updated_at timestamp(6),
+    primary key (import_id)
+);
@@ -0,0 +1,93 @@
+-- Logged sets, range-partitioned by month of date_time so date-range reads prune to the months they
+-- cover and old months can be detached instead of deleted.
+
+create sequence user_x_workout_x_excercise_seq start with 1 increment by 50;
+
+-- The partition key has to be part of the primary key; ids stay unique through the sequence.
+create table user_x_workout_x_excercise (
+    user_workout_excercise_id integer not null,
+    user_excercise_id integer not null,
+    set_number integer not null,
+    weight integer not null,
+    reps integer not null,
+    date_time timestamp(6) not null,
+    primary key (user_workout_excercise_id, date_time),
+    constraint fk_set_user_excercise foreign key (user_excercise_id) references user_x_excercise
+) partition by range (date_time);
+
+-- Catches sets for months without a partition yet, such as imported history; ensure_set_partitions
+-- moves them into their own month.
+create table user_x_workout_x_excercise_default partition of user_x_workout_x_excercise default;
+
+-- Every set query filters by exercise (joined from the user's exercises) and a date range, and pages
+-- by (date_time, id).
+create index idx_set_exercise_date on user_x_workout_x_excercise (user_excercise_id, date_time, user_workout_excercise_id);
+
+-- Creates the partition for the month containing month_start, moving any rows for that month out of
+-- the default partition first. Returns whether a partition was created.
+create or replace function create_set_partition(month_start date) returns boolean as $$
+declare
+    range_start timestamp := date_trunc('month', month_start);
+    range_end timestamp := date_trunc('month', month_start) + interval '1 month';
+    partition_name text := 'user_x_workout_x_excercise_' || to_char(month_start, 'YYYY_MM');
+begin
+    if to_regclass(partition_name) is not null then
+        return false;
+    end if;
+    -- Hold off sets routed to the default partition until the month is attached.
+    lock table user_x_workout_x_excercise_default in exclusive mode;
+    execute format('create table %I (like user_x_workout_x_excercise including defaults)', partition_name);
+    execute format('with moved as (delete from user_x_workout_x_excercise_default where date_time >= %L and date_time < %L returning *) '
+                   'insert into %I select * from moved', range_start, range_end, partition_name);
+    -- Lets attach skip scanning the new table for rows outside the range.
+    execute format('alter table %I add constraint %I check (date_time >= %L and date_time < %L)',
+                   partition_name, partition_name || '_range', range_start, range_end);
+    execute format('alter table user_x_workout_x_excercise attach partition %I for values from (%L) to (%L)',
+                   partition_name, range_start, range_end);
+    return true;
+end;
+$$ language plpgsql;
+
+-- Splits every month found in the default partition into its own partition, then makes sure the
+-- months from months_back before to months_ahead after the current one exist.
+create or replace function ensure_set_partitions(months_back integer, months_ahead integer) returns integer as $$
+declare
+    month date;
+    created integer := 0;
+begin
+    for month in select distinct date_trunc('month', date_time)::date from user_x_workout_x_excercise_default loop
+        if create_set_partition(month) then
+            created := created + 1;
+        end if;
+    end loop;
+    for month in select generate_series(date_trunc('month', now()) - make_interval(months => months_back),
+                                        date_trunc('month', now()) + make_interval(months => months_ahead),
+                                        interval '1 month')::date loop
+        if create_set_partition(month) then
+            created := created + 1;
+        end if;
+    end loop;
+    return created;
+end;
+$$ language plpgsql;
+
+-- Detaches the month partitions that end on or before cutoff. Detached months stay as standalone
+-- tables for archiving or dropping; nothing is deleted row by row.
+create or replace function detach_set_partitions_before(cutoff date) returns setof text as $$
+declare
+    partition_name text;
+begin
+    for partition_name in
+        select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'user_x_workout_x_excercise'::regclass
+          and c.relname ~ '^user_x_workout_x_excercise_\d{4}_\d{2}$'
+          and to_date(right(c.relname, 7), 'YYYY_MM') + interval '1 month' <= cutoff
+        order by c.relname
+    loop
+        execute format('alter table user_x_workout_x_excercise detach partition %I', partition_name);
+        return next partition_name;
+    end loop;
+end;
+$$ language plpgsql;
+
+select ensure_set_partitions(1, 3);
@@ -0,0 +1,14 @@
+-- The per-user set reads (paging, streaming, export, recent workouts) filter across all of a user's
+-- exercises and order by date_time. Keeping the owner on the set lets one index serve them in order
+-- within each partition instead of sorting all of the user's sets.
+alter table user_x_workout_x_excercise add column user_id integer;
+
+update user_x_workout_x_excercise s set user_id = ue.user_id
+from user_x_excercise ue where ue.user_excercise_id = s.user_excercise_id;
+
+alter table user_x_workout_x_excercise alter column user_id set not null;
+alter table user_x_workout_x_excercise
+    add constraint fk_set_user foreign key (user_id) references user_details;
+
+-- Created on every partition, and on partitions attached later by create_set_partition.
+create index idx_set_user_date on user_x_workout_x_excercise (user_id, date_time, user_workout_excercise_id);
@@ -0,0 +1,12 @@
+-- Journal records the write-behind drainer could not insert after repeated attempts.
+create sequence set_journal_dead_letter_seq start with 1 increment by 50;
+
+create table set_journal_dead_letter (
+    dead_letter_id bigint not null,
+    journal_id varchar(255),
+    journal_sequence bigint not null,
+    entries text,
+    error varchar(1000),
+    created_at timestamp(6),
+    primary key (dead_letter_id)
+);
@@ -0,0 +1,8 @@
+-- Per-user write counter behind the ETags on the read endpoints. It lives in the database so every
+-- instance derives the same tag; a user without a row has version 0.
+create table user_data_version (
+    user_id integer not null,
+    version bigint not null,
+    primary key (user_id),
+    constraint fk_data_version_user foreign key (user_id) references user_details
+);
@@ -0,0 +1,5 @@
+-- Each instance keeps user data versions in memory and polls for rows changed since its last poll,
+-- to pick up writes made through other instances.
+alter table user_data_version add column updated_at timestamp(6) not null default current_timestamp;
+
+create index idx_data_version_updated_at on user_data_version (updated_at);
@@ -0,0 +1,8 @@
+-- Leases that keep a scheduled job to one instance at a time. A job's row is created the first time
+-- it runs; a lease whose holder died expires at locked_until.
+create table job_lock (
+    name varchar(64) not null,
+    locked_by varchar(64),
+    locked_until timestamp(6) not null,
+    primary key (name)
+);
@@ -0,0 +1,20 @@
+package com.workout.tracker;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Empties the second-level cache before each test class. Caffeine's JCache provider hands every
+ * application context in the JVM the same cache manager, so without this a class would read entities
+ * and query results cached by another class's context, which has its own database and reuses the
+ * same ids.
+ */
+public class SecondLevelCacheResetListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void beforeTestClass(TestContext testContext) {
+        testContext.getApplicationContext().getBeanProvider(EntityManagerFactory.class)
+                .ifAvailable(entityManagerFactory -> entityManagerFactory.getCache().evictAll());
+    }
+}
@@ -0,0 +1,37 @@
+package com.workout.tracker;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when an action prepares more JDBC statements than its budget, counted with Hibernate
+ * statistics ({@code hibernate.generate_statistics}). Budgets are meant to be independent of how many
+ * rows the action reads, so an N+1 regression fails as soon as the data holds more than one row.
+ * <p>
+ * Statistics are global to the session factory, so anything else running against the database
+ * during the action counts too.
+ */
+public class StatementCountGuard {
+    private final Statistics statistics;
+
+    public StatementCountGuard(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public <T> T atMost(long budget, String action, Supplier<T> supplier) {
+        statistics.clear();
+        T result = supplier.get();
+        long statements = statistics.getPrepareStatementCount();
+        if (statements > budget) {
+            fail(action + " prepared " + statements + " statements, over its budget of " + budget
+                    + ". Queries: " + Arrays.toString(statistics.getQueries()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.workout.tracker;
+
+import com.workout.tracker.dto.request.WorkoutExcerciseRequestDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saves the users and exercises tests start from, and builds the sets they log. Import it into a
+ * test's context with {@code @Import(TestFixtures.class)}.
+ * <p>
+ * Every user gets a unique email, so tests sharing a database do not collide on it.
+ */
+@TestComponent
+public class TestFixtures {
+    private final UserRepository userRepository;
+    private final UserExcerciseRepository userExcerciseRepository;
+
+    public TestFixtures(UserRepository userRepository, UserExcerciseRepository userExcerciseRepository) {
+        this.userRepository = userRepository;
+        this.userExcerciseRepository = userExcerciseRepository;
+    }
+
+    public User user(String name) {
+        return userRepository.save(User.builder()
+                .name(name).emailId(name + "-" + System.nanoTime() + "@example.com").password("x").build());
+    }
+
+    public UserExcercise exercise(User user, String workoutName, String exerciseName) {
+        return userExcerciseRepository.save(UserExcercise.builder()
+                .userId(user).workoutName(workoutName).exerciseName(exerciseName).build());
+    }
+
+    /**
+     * A set as a client sends it, for the write endpoints and services.
+     */
+    public static WorkoutExcerciseRequestDto set(int userExcerciseId, int setNumber, int weight, int reps) {
+        return WorkoutExcerciseRequestDto.builder()
+                .userExcerciseId(userExcerciseId).setNumber(setNumber).weight(weight).reps(reps).build();
+    }
+
+    /**
+     * A set ready to be saved directly, owned by the exercise's user.
+     */
+    public static UserWorkoutExcercise set(UserExcercise exercise, int setNumber, int weight, int reps, LocalDateTime dateTime) {
+        return UserWorkoutExcercise.builder().userExcercise(exercise).userId(exercise.getUserId().getUserId())
+                .setNumber(setNumber).weight(weight).reps(reps).dateTime(dateTime).build();
+    }
+}
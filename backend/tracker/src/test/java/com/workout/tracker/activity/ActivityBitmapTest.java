@@ -0,0 +1,62 @@
+package com.workout.tracker.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityBitmapTest {
+
+    private static final int BASE = 19_000;
+
+    @Test
+    void runsAndCountsSpanWordBoundaries() {
+        ActivityBitmap bitmap = new ActivityBitmap();
+        // 200 consecutive days crossing several 64-day words, set newest first to grow the front.
+        for (int day = BASE + 199; day >= BASE; day--) {
+            bitmap.set(day);
+        }
+        bitmap.set(BASE + 300);
+
+        assertEquals(200, bitmap.runEndingAt(BASE + 199));
+        assertEquals(71, bitmap.runEndingAt(BASE + 70));
+        assertEquals(0, bitmap.runEndingAt(BASE + 200));
+        assertEquals(1, bitmap.runEndingAt(BASE + 300));
+        assertEquals(200, bitmap.longestRun());
+        assertEquals(201, bitmap.count(BASE - 1000, BASE + 1000));
+        assertEquals(10, bitmap.count(BASE + 60, BASE + 69));
+
+        bitmap.clear(BASE + 100);
+        assertFalse(bitmap.get(BASE + 100));
+        assertEquals(100, bitmap.longestRun());
+        assertEquals(99, bitmap.runEndingAt(BASE + 199));
+    }
+
+    @Test
+    void matchesBitSetOnRandomDays() {
+        ActivityBitmap bitmap = new ActivityBitmap();
+        BitSet expected = new BitSet();
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            int offset = random.nextInt(1_500);
+            if (random.nextInt(4) == 0) {
+                bitmap.clear(BASE + offset);
+                expected.clear(offset);
+            } else {
+                bitmap.set(BASE + offset);
+                expected.set(offset);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(1_600) - 50;
+            int to = from + random.nextInt(400);
+            int expectedCount = expected.get(Math.max(0, from), Math.max(0, to + 1)).cardinality();
+            assertEquals(expectedCount, bitmap.count(BASE + from, BASE + to));
+        }
+        assertTrue(bitmap.count(BASE, BASE + 1_500) > 0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.workout.tracker.activity;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.ActivityDto;
+import com.workout.tracker.entities.ExerciseDailySummary;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ActivityCalendarTest {
+
+    @Autowired
+    private ActivityCalendar activityCalendar;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void streaksFollowLoggedAndDeletedSets() {
+        User user = fixtures.user("lifter");
+        UserExcercise squat = fixtures.exercise(user, "Full Body", "Squat");
+        UserExcercise bench = fixtures.exercise(user, "Full Body", "Bench Press");
+        LocalDate today = LocalDate.now();
+        // Yesterday and the four days before it, then a gap, then a three-day run.
+        for (int daysAgo : new int[]{1, 2, 3, 4, 5, 9, 10, 11}) {
+            userWorkoutExcerciseRepository.save(set(squat, 1, 100, 5, today.minusDays(daysAgo).atTime(7, 0)));
+        }
+        activityCalendar.afterSingletonsInstantiated();
+
+        ActivityDto activity = activityCalendar.getActivity(user.getUserId(), today, 4);
+        assertEquals(5, activity.getCurrentStreak());
+        assertEquals(5, activity.getLongestStreak());
+        assertEquals(8, activity.getActiveDaysLast30());
+        assertEquals(4, activity.getWeeks().size());
+        assertEquals(8, activity.getWeeks().stream().mapToInt(week -> week.getActiveDays()).sum());
+
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(
+                set(squat.getUserExcerciseId(), 1, 100, 5), set(bench.getUserExcerciseId(), 1, 100, 5)));
+        assertEquals(6, activityCalendar.getActivity(user.getUserId(), today, 4).getCurrentStreak());
+        assertTrue(activityCalendar.getActivity(user.getUserId(), today, 4).getCurrentWeek()
+                .get(today.getDayOfWeek().getValue() - 1));
+
+        // Another exercise still has a set today, so the day stays active until both are gone.
+        List<Integer> todaysSets = userWorkoutExcerciseService.getAddedSetsPage(user.getUserId(), null,
+                today.atStartOfDay(), null, null, 10).getItems().stream().map(item -> item.getUserWorkoutExcerciseId()).toList();
+        userWorkoutExcerciseService.deleteSet(todaysSets.get(0));
+        assertEquals(6, activityCalendar.getActivity(user.getUserId(), today, 4).getCurrentStreak());
+        userWorkoutExcerciseService.deleteSet(todaysSets.get(1));
+        assertEquals(5, activityCalendar.getActivity(user.getUserId(), today, 4).getCurrentStreak());
+    }
+
+    @Test
+    void rebuildsAUserWhoseDataChangedThroughAnotherInstance() {
+        User user = fixtures.user("elsewhere");
+        UserExcercise squat = fixtures.exercise(user, "Full Body", "Squat");
+        LocalDate today = LocalDate.now();
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(squat.getUserExcerciseId(), 1, 100, 5)));
+        assertEquals(1, activityCalendar.getActivity(user.getUserId(), today, 1).getCurrentStreak());
+
+        // Another instance's commit, which only shows in the daily summaries.
+        exerciseDailySummaryRepository.save(ExerciseDailySummary.builder()
+                .userExcerciseId(squat.getUserExcerciseId())
+                .userId(user.getUserId())
+                .summaryDate(today.minusDays(1))
+                .volume(500)
+                .setCount(1)
+                .build());
+        assertEquals(1, activityCalendar.getActivity(user.getUserId(), today, 1).getCurrentStreak());
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(Set.of(user.getUserId())));
+
+        assertEquals(2, activityCalendar.getActivity(user.getUserId(), today, 1).getCurrentStreak());
+    }
+}
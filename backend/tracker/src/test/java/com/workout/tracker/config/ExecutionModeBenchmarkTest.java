@@ -0,0 +1,197 @@
+package com.workout.tracker.config;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.WorkoutTrackerApplication;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.security.JwtService;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.workout.tracker.TestFixtures.set;
+
+/**
+ * Compares platform-thread and virtual-thread request execution under a closed-loop load well above
+ * Tomcat's default 200 worker threads. Every prepared statement holds its connection for a fixed
+ * delay to stand in for the network round trip to Postgres, which the in-memory test database does
+ * not have.
+ * <p>
+ * Run with {@code mvn test -Dtest=ExecutionModeBenchmarkTest -Dbenchmark=true}; add
+ * {@code -Djdk.tracePinnedThreads=short} via {@code argLine} to report carrier-thread pinning.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutionModeBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("benchmark.measure-seconds", 15));
+    private static final long STATEMENT_LATENCY_MILLIS = Long.getLong("benchmark.statement-latency-ms", 2);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 20);
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        // Every mode runs in the same JVM, so a throwaway run keeps JIT warm-up from favouring later modes.
+        run("JIT warm-up", "spring.threads.virtual.enabled=false");
+        List<String> results = new ArrayList<>();
+        results.add(run("platform threads", "spring.threads.virtual.enabled=false"));
+        results.add(run("virtual threads", "spring.threads.virtual.enabled=true"));
+        results.add(run("virtual threads, no limiter", "spring.threads.virtual.enabled=true",
+                "datasource.concurrency-limit.permits=1000000"));
+        System.out.printf("%n%d clients, pool %d, %dms per statement%n", CLIENTS, POOL_SIZE, STATEMENT_LATENCY_MILLIS);
+        results.forEach(System.out::println);
+    }
+
+    private String run(String mode, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("server.port=0");
+        allProperties.add("spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        allProperties.add("spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        allProperties.add("spring.jpa.properties.hibernate.generate_statistics=false");
+        allProperties.add("logging.level.root=WARN");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WorkoutTrackerApplication.class)
+                .profiles("test")
+                .properties(allProperties.toArray(String[]::new))
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new StatementLatencyPostProcessor()))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = seed(context);
+            URI uri = URI.create("http://localhost:" + port + "/viewAddedSets/page?limit=20&userId=" + userId);
+            load(uri, token, WARMUP);
+            Result result = load(uri, token, MEASURE);
+            return String.format("%-28s %8.0f req/s  p50 %5d ms  p99 %6d ms  errors %d",
+                    mode, result.completed / (double) MEASURE.toSeconds(), result.percentile(50), result.percentile(99), result.errors);
+        }
+    }
+
+    private int userId;
+
+    private String seed(ConfigurableApplicationContext context) {
+        TestFixtures fixtures = new TestFixtures(context.getBean(UserRepository.class), context.getBean(UserExcerciseRepository.class));
+        User user = fixtures.user("benchmark");
+        userId = user.getUserId();
+        int userExcerciseId = fixtures.exercise(user, "Push", "Bench Press").getUserExcerciseId();
+        context.getBean(UserWorkoutExcerciseService.class).addUserWorkoutExcercise(IntStream.rangeClosed(1, 100)
+                .mapToObj(setNumber -> set(userExcerciseId, setNumber, 100, 5))
+                .toList());
+        return context.getBean(JwtService.class).generateToken(user);
+    }
+
+    private Result load(URI uri, String token, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                result.record(System.nanoTime() - start);
+                            } else {
+                                result.errors++;
+                            }
+                        } catch (Exception e) {
+                            result.errors++;
+                        }
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        }
+    }
+
+    private static class Result {
+        private long[] latencies = new long[1024];
+        private int completed;
+        private int errors;
+
+        void record(long nanos) {
+            if (completed == latencies.length) {
+                latencies = Arrays.copyOf(latencies, completed * 2);
+            }
+            latencies[completed++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.completed; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        long percentile(int percentile) {
+            if (completed == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, completed);
+            Arrays.sort(sorted);
+            return Duration.ofNanos(sorted[Math.min(completed - 1, completed * percentile / 100)]).toMillis();
+        }
+    }
+
+    private static class StatementLatencyPostProcessor implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(method, dataSource, args);
+                        return result instanceof Connection connection ? delayStatements(connection) : result;
+                    });
+        }
+
+        private static Connection delayStatements(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(STATEMENT_LATENCY_MILLIS);
+                        }
+                        return invoke(method, connection, args);
+                    });
+        }
+
+        private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.workout.tracker.config;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.security.JwtService;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+@AutoConfigureObservability
+class MetricsEndpointTest {
+    @LocalServerPort
+    private int port;
+    @LocalManagementPort
+    private int managementPort;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void scrapeCoversRequestsPoolsHibernateAuthAndIngestion() throws Exception {
+        User user = fixtures.user("metrics");
+        int userExcerciseId = fixtures.exercise(user, "Push", "Bench").getUserExcerciseId();
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5)));
+        String token = jwtService.generateToken(user);
+
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            HttpResponse<String> page = http.send(HttpRequest.newBuilder(uri("/viewAddedSets/page?limit=20&userId=" + user.getUserId()))
+                    .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, page.statusCode());
+            HttpResponse<String> dashboard = http.send(HttpRequest.newBuilder(uri("/dashboard?userId=" + user.getUserId()))
+                    .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, dashboard.statusCode());
+
+            HttpResponse<String> publicScrape = http.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertNotEquals(200, publicScrape.statusCode());
+
+            HttpResponse<String> scrape = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort
+                    + "/actuator/prometheus")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, scrape.statusCode());
+            String metrics = scrape.body();
+
+            assertContains(metrics, "http_server_requests_seconds_bucket{", "handler=\"UserWorkoutExcerciseController#viewAddedSetsPage\"");
+            assertContains(metrics, "http_server_requests_seconds{", "quantile=\"0.999\"");
+            assertContains(metrics, "hikaricp_connections_acquire_seconds_bucket{");
+            assertContains(metrics, "hibernate_request_statements_count{", "uri=\"/viewAddedSets/page\"");
+            assertContains(metrics, "hibernate_request_entity_loads{", "quantile=\"0.99\"");
+            // The dashboard queries from its component threads only.
+            assertTrue(sample(metrics, "hibernate_request_statements_sum{", "uri=\"/dashboard\"") > 0);
+            assertContains(metrics, "auth_jwt_filter_seconds_count{", "result=\"authenticated\"");
+            assertContains(metrics, "auth_password_hash_seconds_bucket{");
+            assertContains(metrics, "sets_ingest_batch_size_sets_count{", "source=\"request\"");
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double sample(String metrics, String prefix, String... labels) {
+        String line = metrics.lines().filter(l -> l.startsWith(prefix) && List.of(labels).stream().allMatch(l::contains))
+                .findFirst().orElseThrow(() -> new AssertionError("No " + prefix + " sample with " + List.of(labels)));
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+
+    private static void assertContains(String metrics, String prefix, String... labels) {
+        boolean found = metrics.lines().anyMatch(line -> line.startsWith(prefix)
+                && List.of(labels).stream().allMatch(line::contains));
+        assertTrue(found, "No " + prefix + " sample with " + List.of(labels));
+    }
+}
@@ -0,0 +1,74 @@
+package com.workout.tracker.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the metrics add to every request on the hot path: the per-request Hibernate count
+ * filter, one statement count, and one record into a timer with a percentile histogram and
+ * precomputed percentiles, each as registered against a Prometheus registry configured like
+ * {@code management.metrics.distribution}.
+ * <p>
+ * Run with {@code mvn test -Dtest=MetricsOverheadBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MetricsOverheadBenchmarkTest {
+
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup-iterations", 2_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5_000_000);
+
+    @Test
+    void measureHotPathOverhead() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true)
+                        .percentiles(0.5, 0.99, 0.999).build().merge(config);
+            }
+        });
+        RequestQueryMetricsFilter filter = new RequestQueryMetricsFilter(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/viewAddedSets/page");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/viewAddedSets/page");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> RequestQueryCounts.statementPrepared();
+        Timer timer = Timer.builder("benchmark.request").tag("handler", "Controller#method").register(registry);
+
+        System.out.printf("%nrequest count filter   %6.1f ns/request%n", nanosPerOp(() -> {
+            // The filter is once-per-request, so a fresh request attribute state is needed each pass.
+            request.removeAttribute(RequestQueryMetricsFilter.class.getName() + ".FILTERED");
+            filter.doFilter(request, response, chain);
+        }));
+        RequestQueryCounts.start();
+        System.out.printf("statement count        %6.1f ns/statement%n", nanosPerOp(RequestQueryCounts::statementPrepared));
+        RequestQueryCounts.stop();
+        System.out.printf("percentile timer       %6.1f ns/record%n", nanosPerOp(() -> timer.record(1234, TimeUnit.MICROSECONDS)));
+    }
+
+    private static double nanosPerOp(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,234 @@
+package com.workout.tracker.config;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.request.ExerciseRequestDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.security.JwtService;
+import com.workout.tracker.services.UserExcerciseService;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two in-memory databases stand in for the primary and the replica. Replication is a copy of the
+ * primary taken on demand, so the replica lags until {@link #replicate()} is called.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ReplicaRoutingTest {
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserExcerciseService userExcerciseService;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        User user = fixtures.user("reader");
+        UserExcercise bench = fixtures.exercise(user, "Push", "Bench");
+        replicate();
+        double replicaConnections = connections("replica");
+
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(bench.getUserExcerciseId(), 1, 60, 8)));
+
+        assertEquals(List.of(), userWorkoutExcerciseService.getAllAddedSets());
+        assertTrue(connections("replica") > replicaConnections);
+        assertEquals(1, ReplicaRoutingDataSource.onPrimary(() -> userWorkoutExcerciseService.getAllAddedSets()).size());
+
+        replicate();
+        assertEquals(1, userWorkoutExcerciseService.getAllAddedSets().size());
+    }
+
+    @Test
+    void pinsRequestsOfARecentWriterToThePrimary() throws Exception {
+        User writer = fixtures.user("writer");
+        Cookie lastWrite = write(() -> userExcerciseService.addUserExcercise(exercise(writer, "Squat")));
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routeOfRequestWith(lastWrite));
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routeOfRequestWith(null));
+        // Past the read-your-writes window the replica has caught up.
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routeOfRequestWith(
+                new Cookie(ReadYourWritesInterceptor.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis() - 60_000))));
+        assertEquals(1, handle(lastWrite, () -> userExcerciseService.viewUserExercise(writer.getUserId())).size());
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, readOnly(ReplicaRoutingDataSource::currentRoute));
+    }
+
+    @Test
+    void streamsAndExportsOfARecentWriterReadTheirWrites() throws Exception {
+        User writer = fixtures.user("streamer");
+        UserExcercise bench = fixtures.exercise(writer, "Push", "Bench");
+        replicate();
+
+        Cookie lastWrite = write(() -> userWorkoutExcerciseService.addUserWorkoutExcercise(
+                List.of(set(bench.getUserExcerciseId(), 1, 60, 8))));
+
+        String token = jwtService.generateToken(writer);
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            HttpResponse<String> stream = http.send(get("/viewAddedSets/stream?userId=" + writer.getUserId(), token, lastWrite),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, stream.statusCode());
+            assertEquals(1, objectMapper.readTree(stream.body()).path("body").path("items").size());
+
+            HttpResponse<InputStream> export = http.send(get("/export/sets?userId=" + writer.getUserId(), token, lastWrite),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(200, export.statusCode());
+            try (InputStream csv = new GZIPInputStream(export.body())) {
+                // Header plus the one set.
+                assertEquals(2, new String(csv.readAllBytes(), StandardCharsets.UTF_8).lines().count());
+            }
+        }
+    }
+
+    @Test
+    void clearsThePinFromTheRequestThreadWhenHandlingGoesAsync() {
+        User writer = fixtures.user("async");
+        MockHttpServletRequest request = request(write(() -> userExcerciseService.addUserExcercise(exercise(writer, "Row"))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        readYourWritesInterceptor.preHandle(request, response, new Object());
+        Supplier<ReplicaRoutingDataSource.Route> asyncWork = ReplicaRoutingDataSource.withCurrentPin(
+                () -> readOnly(ReplicaRoutingDataSource::currentRoute));
+        readYourWritesInterceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, readOnly(ReplicaRoutingDataSource::currentRoute));
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, asyncWork.get());
+    }
+
+    private HttpRequest get(String path, String token, Cookie lastWrite) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Cookie", lastWrite.getName() + "=" + lastWrite.getValue()).build();
+    }
+
+    /**
+     * Runs a write as a request's handler would.
+     *
+     * @return the last-write cookie its response set
+     */
+    private Cookie write(Runnable write) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/userExercise");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesInterceptor.preHandle(request, response, new Object());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            write.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            readYourWritesInterceptor.afterCompletion(request, response, new Object(), null);
+        }
+        Cookie lastWrite = response.getCookie(ReadYourWritesInterceptor.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+        return lastWrite;
+    }
+
+    private ReplicaRoutingDataSource.Route routeOfRequestWith(Cookie lastWrite) throws Exception {
+        return handle(lastWrite, () -> readOnly(ReplicaRoutingDataSource::currentRoute));
+    }
+
+    private <T> T handle(Cookie lastWrite, Supplier<T> handler) throws Exception {
+        MockHttpServletRequest request = request(lastWrite);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesInterceptor.preHandle(request, response, new Object());
+        try {
+            return handler.get();
+        } finally {
+            readYourWritesInterceptor.afterCompletion(request, response, new Object(), null);
+        }
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    private double connections(String route) {
+        return meterRegistry.get("datasource.routing.connections").tag("route", route).counter().count();
+    }
+
+    private void replicate() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        new JdbcTemplate(primaryDataSource).queryForList("script", String.class).forEach(replica::execute);
+    }
+
+    private static MockHttpServletRequest request(Cookie lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/userExercise");
+        if (lastWrite != null) {
+            request.setCookies(lastWrite);
+        }
+        return request;
+    }
+
+    private static ExerciseRequestDto exercise(User user, String name) {
+        return ExerciseRequestDto.builder().userId(user.getUserId()).workoutName("Legs").excerciseName(name).build();
+    }
+}
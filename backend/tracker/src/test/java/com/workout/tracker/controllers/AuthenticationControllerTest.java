@@ -0,0 +1,76 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.dao.request.RefreshTokenRequest;
+import com.workout.tracker.dao.request.SignUpRequest;
+import com.workout.tracker.dao.request.SigninRequest;
+import com.workout.tracker.dao.response.JwtAuthenticationResponse;
+import com.workout.tracker.security.AuthenticationService;
+import com.workout.tracker.security.PasswordHashingRejectedException;
+import com.workout.tracker.security.UserAlreadyRegisteredException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthenticationControllerTest {
+
+    @Test
+    void signinMapsHashingSaturationTo503AndOnlyBadCredentialsTo403() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, signin(new PasswordHashingRejectedException("full", new RejectedExecutionException())).getStatusCode());
+        assertEquals("1", signin(new PasswordHashingRejectedException("full", new RejectedExecutionException()))
+                .getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.FORBIDDEN, signin(new BadCredentialsException("wrong password")).getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, signin(new DataAccessResourceFailureException("database down")).getStatusCode());
+    }
+
+    @Test
+    void signupMapsOnlyDuplicateUsersTo403() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, signup(new PasswordHashingRejectedException("full", new RejectedExecutionException())).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, signup(new UserAlreadyRegisteredException("taken")).getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, signup(new DataAccessResourceFailureException("database down")).getStatusCode());
+    }
+
+    @Test
+    void refreshRejectsAMissingTokenBeforeTheService() {
+        AuthenticationController controller = new AuthenticationController(failing(new IllegalStateException("not called")));
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refresh(new RefreshTokenRequest()).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refresh(new RefreshTokenRequest(" ")).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED,
+                new AuthenticationController(failing(new BadCredentialsException("expired"))).refresh(new RefreshTokenRequest("x")).getStatusCode());
+    }
+
+    private static ResponseEntity<?> signin(RuntimeException failure) {
+        return new AuthenticationController(failing(failure)).signin(new SigninRequest()).join();
+    }
+
+    private static ResponseEntity<?> signup(RuntimeException failure) {
+        return new AuthenticationController(failing(failure)).signup(new SignUpRequest()).join();
+    }
+
+    private static AuthenticationService failing(RuntimeException failure) {
+        return new AuthenticationService() {
+            @Override
+            public CompletableFuture<JwtAuthenticationResponse> signup(SignUpRequest request) {
+                // Completed through a stage, as the service does, so the failure arrives wrapped.
+                return CompletableFuture.completedFuture(null).thenApply(ignored -> { throw failure; });
+            }
+
+            @Override
+            public CompletableFuture<JwtAuthenticationResponse> signin(SigninRequest request) {
+                return CompletableFuture.completedFuture(null).thenApply(ignored -> { throw failure; });
+            }
+
+            @Override
+            public JwtAuthenticationResponse refresh(RefreshTokenRequest request) {
+                throw failure;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.request.ExerciseRequestDto;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.UserDataVersionRepository;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.services.UserDataVersionTracker;
+import com.workout.tracker.services.UserExcerciseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:conditional;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+@RecordApplicationEvents
+class ConditionalReadTest {
+
+    @Autowired
+    private UserExerciseController userExerciseController;
+    @Autowired
+    private UserExcerciseService userExcerciseService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserDataVersionTracker userDataVersionTracker;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void answers304UntilAWriteThroughAnyInstanceChangesTheUsersData() {
+        int userId = fixtures.user("etag").getUserId();
+        UserDataVersionTracker otherInstance = otherInstance();
+        addExercise(userId, "Bench");
+
+        String eTag = userExerciseController.viewUserExercise(userId, new ServletWebRequest(new MockHttpServletRequest()))
+                .getHeaders().getETag();
+        assertEquals(eTag, otherInstance.eTag(userId));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(userExerciseController.viewUserExercise(userId, new ServletWebRequest(ifNoneMatch(eTag), notModified)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModified.getStatus());
+
+        addExercise(userId, "Squat");
+
+        ResponseEntity<?> modified = userExerciseController.viewUserExercise(userId,
+                new ServletWebRequest(ifNoneMatch(eTag), new MockHttpServletResponse()));
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertNotEquals(eTag, modified.getHeaders().getETag());
+        otherInstance.pollChanges();
+        assertEquals(modified.getHeaders().getETag(), otherInstance.eTag(userId));
+    }
+
+    @Test
+    void picksUpWritesThroughOtherInstancesWhenPolling() {
+        int userId = fixtures.user("remote").getUserId();
+        addExercise(userId, "Bench");
+        String eTag = userDataVersionTracker.eTag(userId);
+        UserDataVersionTracker otherInstance = otherInstance();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            fixtures.exercise(userRepository.getReferenceById(userId), "Pull", "Row");
+            otherInstance.recordWrite(userId);
+        });
+        // Served from memory until the next poll.
+        assertEquals(eTag, userDataVersionTracker.eTag(userId));
+
+        userDataVersionTracker.pollChanges();
+
+        assertEquals(otherInstance.eTag(userId), userDataVersionTracker.eTag(userId));
+        assertTrue(events.stream(UserDataChangedEvent.class).anyMatch(event -> event.getUserIds().contains(userId)));
+        ResponseEntity<?> modified = userExerciseController.viewUserExercise(userId,
+                new ServletWebRequest(ifNoneMatch(eTag), new MockHttpServletResponse()));
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+    }
+
+    /**
+     * A second instance, sharing nothing with this one but the database.
+     */
+    private UserDataVersionTracker otherInstance() {
+        return new UserDataVersionTracker(userDataVersionRepository, userRepository, event -> { },
+                Duration.ofMinutes(1));
+    }
+
+    private void addExercise(int userId, String exerciseName) {
+        userExcerciseService.addUserExcercise(ExerciseRequestDto.builder()
+                .userId(userId).workoutName("Push").excerciseName(exerciseName).build());
+    }
+
+    private static MockHttpServletRequest ifNoneMatch(String eTag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/viewExercise");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.workout.tracker.controllers;
+
+import com.workout.tracker.StatementCountGuard;
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.entities.UserWorkout;
+import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.repositories.UserWorkoutRepository;
+import com.workout.tracker.rollup.RollupGranularity;
+import com.workout.tracker.services.PerformanceSummaryService;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for the read endpoints, checked against a user with many sets across several
+ * exercises and days, so any per-row lazy load or lookup goes over budget.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgets;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ReadEndpointStatementBudgetTest {
+    private static final int DAYS = 10;
+
+    @Autowired
+    private WorkoutController workoutController;
+    @Autowired
+    private UserExerciseController userExerciseController;
+    @Autowired
+    private UserWorkoutController userWorkoutController;
+    @Autowired
+    private UserWorkoutExcerciseController userWorkoutExcerciseController;
+    @Autowired
+    private PersonalRecordController personalRecordController;
+    @Autowired
+    private PlateauController plateauController;
+    @Autowired
+    private ProgressController progressController;
+    @Autowired
+    private ActivityController activityController;
+    @Autowired
+    private SummaryController summaryController;
+    @Autowired
+    private DashboardController dashboardController;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private PerformanceSummaryService performanceSummaryService;
+    @Autowired
+    private UserWorkoutRepository userWorkoutRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private StatementCountGuard guard;
+    private int userId;
+    private int userExcerciseId;
+
+    @BeforeEach
+    void setUp() {
+        guard = new StatementCountGuard(entityManagerFactory);
+        User user = fixtures.user("budget");
+        userId = user.getUserId();
+        List<UserWorkoutExcercise> sets = new ArrayList<>();
+        for (String name : List.of("Bench", "Squat", "Row")) {
+            UserExcercise exercise = fixtures.exercise(user, "Full body", name);
+            userExcerciseId = exercise.getUserExcerciseId();
+            for (int day = 0; day < DAYS; day++) {
+                for (int setNumber = 1; setNumber <= 3; setNumber++) {
+                    sets.add(set(exercise, setNumber, 60 + day, 8, LocalDate.now().minusDays(day).atTime(18, setNumber)));
+                }
+            }
+        }
+        userWorkoutExcerciseService.saveImportedSets(sets, userId);
+        userWorkoutRepository.save(UserWorkout.builder().userId(user).workoutName("Push").build());
+        userWorkoutRepository.save(UserWorkout.builder().userId(user).workoutName("Pull").build());
+        performanceSummaryService.applyPending();
+    }
+
+    @Test
+    void readEndpointsStayWithinTheirStatementBudgets() {
+        within(1, "GET /workouts", () -> workoutController.getListOfWorkouts(request()));
+        within(1, "GET /viewExercise", () -> userExerciseController.viewUserExercise(userId, request()));
+        within(1, "GET /viewCustomWorkouts", () -> userWorkoutController.viewCustomWorkout(userId, request()));
+        within(1, "GET /viewAddedSets", () -> userWorkoutExcerciseController.viewAddedSets());
+        within(1, "GET /viewAddedSets/page", () -> userWorkoutExcerciseController.viewAddedSetsPage(userId, null, 20,
+                null, null, null, request()));
+        // The user's exercises, then the records of all of them at once.
+        within(2, "GET /personalRecords", () -> personalRecordController.viewPersonalRecords(userId, null, request()));
+        within(1, "GET /plateaus", () -> plateauController.viewPlateaus(userId));
+        within(1, "GET /progress", () -> progressController.viewProgress(userId, userExcerciseId, null, null, request()));
+        within(0, "GET /progress/volume", () -> progressController.viewVolume(userId, null, null, null,
+                RollupGranularity.WEEK, request()));
+        within(0, "GET /activity", () -> activityController.viewActivity(userId, 12, request()));
+        within(1, "GET /summaries/exercises", () -> summaryController.viewExercisePerformance(userId));
+        within(1, "GET /summaries/weekly", () -> summaryController.viewWeeklyVolumeTrends(userId, null, null));
+        within(3, "GET /dashboard", () -> dashboardController.viewDashboard(userId, request()));
+    }
+
+    private void within(long budget, String endpoint, Supplier<ResponseEntity<?>> call) {
+        ResponseEntity<?> response = guard.atMost(budget, endpoint, call);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), endpoint + " failed: " + response.getBody());
+    }
+
+    private static WebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+}
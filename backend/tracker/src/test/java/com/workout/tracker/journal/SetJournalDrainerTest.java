@@ -0,0 +1,86 @@
+package com.workout.tracker.journal;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.SetJournalDeadLetter;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.SetJournalDeadLetterRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:drainer;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "sets.write-behind.enabled=true",
+        "sets.write-behind.journal-size=64KB",
+        "sets.write-behind.max-attempts=2"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class SetJournalDrainerTest {
+    private static final int POISON_SET_NUMBER = -1;
+
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private SetJournalDeadLetterRepository setJournalDeadLetterRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) throws Exception {
+        String journalPath = Files.createTempDirectory("set-journal").resolve("journal.dat").toString();
+        registry.add("sets.write-behind.journal-path", () -> journalPath);
+    }
+
+    @Test
+    void deadLettersARecordThatKeepsFailingAndDrainsTheRest() throws Exception {
+        // Only the drained insert sees this, so the poison set is journaled and then fails on every attempt.
+        jdbcTemplate.execute("alter table user_x_workout_x_excercise add constraint positive_set_number check (set_number > 0)");
+        User user = fixtures.user("journal");
+        int bench = fixtures.exercise(user, "Push", "Bench").getUserExcerciseId();
+
+        assertTrue(userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(bench, 1, 80, 5), set(bench, 2, 80, 5)))
+                .isJournaled());
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(bench, POISON_SET_NUMBER, 80, 5)));
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(bench, 3, 80, 5)));
+
+        awaitTrue(() -> !setJournalDeadLetterRepository.findByJournalId("default").isEmpty()
+                && userWorkoutExcerciseRepository.count() == 3);
+        List<SetJournalDeadLetter> deadLetters = setJournalDeadLetterRepository.findByJournalId("default");
+        assertEquals(1, deadLetters.size());
+        assertEquals(2, deadLetters.get(0).getJournalSequence());
+        assertTrue(deadLetters.get(0).getEntries().contains("\"setNumber\":" + POISON_SET_NUMBER));
+        assertEquals(1, meterRegistry.get("sets.write-behind.dead.letters").counter().count());
+        assertEquals(3, userWorkoutExcerciseService.getJournalCheckpoint("default"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the journal to drain");
+            Thread.sleep(50);
+        }
+    }
+}
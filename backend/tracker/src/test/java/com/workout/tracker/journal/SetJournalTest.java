@@ -0,0 +1,66 @@
+package com.workout.tracker.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SetJournalTest {
+
+    private static final LocalDateTime LOGGED_AT = LocalDateTime.of(2024, 3, 1, 18, 30, 15, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void undrainedRecordsAreReplayedAfterReopen() throws Exception {
+        Path file = dir.resolve("journal.dat");
+        try (SetJournal journal = new SetJournal(file, 4096, Duration.ofMillis(10))) {
+            journal.append(batch(1, 3));
+            journal.append(batch(2, 2));
+            List<JournalRecord> first = journal.read(journal.getDrainedPosition(), journal.getDrainedSequence(), 1);
+            journal.checkpoint(first.get(0).getEndPosition(), first.get(0).getSequence());
+        }
+
+        try (SetJournal journal = new SetJournal(file, 4096, Duration.ofMillis(10))) {
+            List<JournalRecord> records = journal.read(journal.getDrainedPosition(), journal.getDrainedSequence(), 100);
+            assertEquals(1, records.size());
+            assertEquals(2, records.get(0).getSequence());
+            assertEquals(batch(2, 2), records.get(0).getEntries());
+        }
+    }
+
+    @Test
+    void wrapsAroundOnceSpaceIsDrained() throws Exception {
+        try (SetJournal journal = new SetJournal(dir.resolve("journal.dat"), 1024, Duration.ofMillis(10))) {
+            for (int i = 1; i <= 50; i++) {
+                journal.append(batch(i, 5));
+                JournalRecord record = journal.read(journal.getDrainedPosition(), journal.getDrainedSequence(), 100).get(0);
+                assertEquals(i, record.getSequence());
+                assertEquals(batch(i, 5), record.getEntries());
+                journal.checkpoint(record.getEndPosition(), record.getSequence());
+            }
+        }
+    }
+
+    @Test
+    void appendFailsWhenJournalStaysFull() throws Exception {
+        try (SetJournal journal = new SetJournal(dir.resolve("journal.dat"), 1024, Duration.ofMillis(10))) {
+            IntStream.range(0, 6).forEach(i -> journal.append(batch(i, 5)));
+            assertThrows(IllegalStateException.class, () -> journal.append(batch(7, 5)));
+        }
+    }
+
+    private static List<JournalEntry> batch(int userExcerciseId, int sets) {
+        return IntStream.rangeClosed(1, sets)
+                .mapToObj(set -> new JournalEntry(userExcerciseId, set, 60 + set, 10 - set, LOGGED_AT))
+                .toList();
+    }
+}
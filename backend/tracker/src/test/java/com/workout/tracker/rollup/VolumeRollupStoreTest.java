@@ -0,0 +1,94 @@
+package com.workout.tracker.rollup;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.VolumePointDto;
+import com.workout.tracker.entities.ExerciseDailySummary;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.ExerciseDailySummaryRepository;
+import com.workout.tracker.services.UserWorkoutExcerciseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class VolumeRollupStoreTest {
+
+    @Autowired
+    private VolumeRollupStore volumeRollupStore;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private ExerciseDailySummaryRepository exerciseDailySummaryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void followsCommittedSetsAndMatchesARebuild() {
+        User user = fixtures.user("lifter");
+        int squat = fixtures.exercise(user, "Full Body", "Squat").getUserExcerciseId();
+        int bench = fixtures.exercise(user, "Full Body", "Bench Press").getUserExcerciseId();
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(squat, 1, 100, 5), set(squat, 1, 100, 5), set(bench, 1, 80, 8)));
+
+        assertEquals(1000, onlyPoint(user.getUserId(), squat).getVolume());
+        VolumePointDto total = onlyPoint(user.getUserId(), null);
+        assertEquals(1640, total.getVolume());
+        assertEquals(3, total.getSetCount());
+
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(bench, 1, 60, 10)));
+        int setId = userWorkoutExcerciseService.getAddedSetsPage(user.getUserId(), bench, null, null, null, 1)
+                .getItems().get(0).getUserWorkoutExcerciseId();
+        userWorkoutExcerciseService.deleteSet(setId);
+        assertEquals(640, onlyPoint(user.getUserId(), bench).getVolume());
+
+        volumeRollupStore.afterSingletonsInstantiated();
+        assertEquals(1640, onlyPoint(user.getUserId(), null).getVolume());
+        assertEquals(640, onlyPoint(user.getUserId(), bench).getVolume());
+        assertTrue(volumeRollupStore.getVolume(user.getUserId() + 1, squat, LocalDate.now(), LocalDate.now(),
+                RollupGranularity.DAY).isEmpty());
+    }
+
+    @Test
+    void refoldsAUserWhoseDataChangedThroughAnotherInstance() {
+        User user = fixtures.user("elsewhere");
+        int squat = fixtures.exercise(user, "Full Body", "Squat").getUserExcerciseId();
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(squat, 1, 100, 5)));
+
+        // Another instance's commit, which only shows in the daily summaries.
+        ExerciseDailySummary summary = exerciseDailySummaryRepository.findAllByIds(List.of(squat), List.of(LocalDate.now())).get(0);
+        summary.setNewSummary(false);
+        summary.setVolume(1500);
+        summary.setSetCount(3);
+        exerciseDailySummaryRepository.save(summary);
+        assertEquals(500, onlyPoint(user.getUserId(), squat).getVolume());
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(Set.of(user.getUserId())));
+
+        VolumePointDto refolded = onlyPoint(user.getUserId(), null);
+        assertEquals(1500, refolded.getVolume());
+        assertEquals(3, refolded.getSetCount());
+    }
+
+    private VolumePointDto onlyPoint(int userId, Integer userExcerciseId) {
+        List<VolumePointDto> points = volumeRollupStore.getVolume(userId, userExcerciseId,
+                LocalDate.now().minusYears(1), LocalDate.now(), RollupGranularity.MONTH);
+        assertEquals(1, points.size());
+        assertEquals(LocalDate.now().withDayOfMonth(1), points.get(0).getDate());
+        return points.get(0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.workout.tracker.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VolumeSeriesTest {
+
+    private static final int MONDAY = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+
+    @Test
+    void keepsDaysSortedAndDropsEmptiedDays() {
+        VolumeSeries series = new VolumeSeries();
+        for (int day = 20; day >= 0; day -= 2) {
+            series.add(MONDAY + day, 100, 1);
+        }
+        series.add(MONDAY + 4, 50, 1);
+        series.add(MONDAY + 6, -100, -1);
+
+        List<long[]> days = aggregate(series, MONDAY, MONDAY + 20, RollupGranularity.DAY);
+        assertEquals(10, days.size());
+        assertEquals(List.of(0L, 2L, 4L, 8L), days.subList(0, 4).stream().map(point -> point[0] - MONDAY).toList());
+        assertEquals(150, days.get(2)[1]);
+        assertEquals(2, days.get(2)[2]);
+    }
+
+    @Test
+    void rollsUpRangesIntoWeeksAndMonths() {
+        VolumeSeries series = new VolumeSeries();
+        for (int day = 0; day < 62; day++) {
+            series.add(MONDAY + day, day, 1);
+        }
+
+        List<long[]> weeks = aggregate(series, MONDAY + 3, MONDAY + 15, RollupGranularity.WEEK);
+        assertEquals(3, weeks.size());
+        assertEquals(MONDAY, weeks.get(0)[0]);
+        assertEquals(3 + 4 + 5 + 6, weeks.get(0)[1]);
+        assertEquals(7, weeks.get(1)[2]);
+        assertEquals(MONDAY + 14, weeks.get(2)[0]);
+        assertEquals(2, weeks.get(2)[2]);
+
+        List<long[]> months = aggregate(series, MONDAY, MONDAY + 59, RollupGranularity.MONTH);
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.of(2024, 2, 1).toEpochDay(), months.get(1)[0]);
+        assertEquals(31, months.get(0)[2]);
+        assertEquals(29, months.get(1)[2]);
+        assertTrue(aggregate(series, MONDAY + 100, MONDAY + 200, RollupGranularity.DAY).isEmpty());
+    }
+
+    private static List<long[]> aggregate(VolumeSeries series, int fromDay, int toDay, RollupGranularity granularity) {
+        List<long[]> points = new ArrayList<>();
+        series.aggregate(fromDay, toDay, granularity,
+                (bucketStartDay, volume, setCount) -> points.add(new long[]{bucketStartDay, volume, setCount}));
+        return points;
+    }
+}
@@ -0,0 +1,72 @@
+package com.workout.tracker.security;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.security.impl.JwtServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tokens;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class TokenRejectionTest {
+    @LocalServerPort
+    private int port;
+    @Value("${token.signing.key}")
+    private String signingKey;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void revokedTokenIsRejected() throws Exception {
+        User user = fixtures.user("revoked");
+        String token = jwtService.generateToken(user);
+        assertEquals(200, viewExercises(user, token));
+
+        userService.revokeTokens(user.getUserId());
+
+        assertEquals(403, viewExercises(user, token));
+        User reloaded = userRepository.findById(user.getUserId()).orElseThrow();
+        assertEquals(200, viewExercises(reloaded, jwtService.generateToken(reloaded)));
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        User user = fixtures.user("expired");
+        String token = new JwtServiceImpl(signingKey, Duration.ofSeconds(1), 10).generateToken(user);
+        assertEquals(200, viewExercises(user, token));
+
+        Thread.sleep(2_100);
+
+        assertEquals(403, viewExercises(user, token));
+    }
+
+    private int viewExercises(User user, String token) throws Exception {
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/viewExercise?userId=" + user.getUserId()))
+                    .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
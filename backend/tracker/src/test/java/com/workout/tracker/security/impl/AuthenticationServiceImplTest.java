@@ -0,0 +1,64 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.dao.request.SignUpRequest;
+import com.workout.tracker.dao.request.SigninRequest;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.UserRepository;
+import com.workout.tracker.security.JwtService;
+import com.workout.tracker.security.RefreshTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final PasswordHashingServiceImpl hashing = new PasswordHashingServiceImpl(passwordEncoder, new SimpleMeterRegistry(), 4, 1, 8);
+    private final ExecutorService persistenceExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "persistence"));
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final List<String> persistenceThreads = new CopyOnWriteArrayList<>();
+    private final AuthenticationServiceImpl authenticationService = new AuthenticationServiceImpl(
+            userRepository, hashing, mock(JwtService.class), refreshTokenService, persistenceExecutor);
+
+    @AfterEach
+    void tearDown() {
+        hashing.shutdown();
+        persistenceExecutor.shutdown();
+    }
+
+    @Test
+    void persistsOffThePasswordHashingThreads() throws Exception {
+        User existing = User.builder().userId(1).name("lifter").emailId("lifter@example.com")
+                .password(passwordEncoder.encode("secret")).build();
+        when(userRepository.findByEmailId("new@example.com")).thenReturn(Optional.empty());
+        when(userRepository.findByEmailId("lifter@example.com")).thenReturn(Optional.of(existing));
+        when(userRepository.save(any())).thenAnswer(invocation -> {
+            persistenceThreads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        when(refreshTokenService.issue(any())).thenAnswer(invocation -> {
+            persistenceThreads.add(Thread.currentThread().getName());
+            return "refresh";
+        });
+
+        authenticationService.signup(SignUpRequest.builder().name("new").email("new@example.com").password("secret").build())
+                .get(5, TimeUnit.SECONDS);
+        authenticationService.signin(SigninRequest.builder().email("lifter@example.com").password("secret").build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("persistence", "persistence", "persistence"), persistenceThreads);
+    }
+}
@@ -0,0 +1,51 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.entities.User;
+import com.workout.tracker.security.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceImplTest {
+
+    private static final String SIGNING_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String OTHER_SIGNING_KEY = Base64.getEncoder().encodeToString("another-key-another-key-another!!".getBytes());
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws Exception {
+        JwtServiceImpl jwtService = new JwtServiceImpl(SIGNING_KEY, Duration.ofSeconds(1), 100);
+        String token = jwtService.generateToken(user());
+
+        VerifiedToken verified = jwtService.verifyToken(token);
+        assertEquals(7, verified.getUserId());
+        assertEquals(3, verified.getTokenVersion());
+        assertSame(verified, jwtService.verifyToken(token));
+
+        // Expiry has second precision, so wait for the next second after it.
+        Thread.sleep(2_100);
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verifyToken(token));
+    }
+
+    @Test
+    void tokenWithAForeignOrTamperedSignatureIsRejected() {
+        JwtServiceImpl jwtService = new JwtServiceImpl(SIGNING_KEY, Duration.ofMinutes(15), 100);
+        String token = jwtService.generateToken(user());
+        jwtService.verifyToken(token);
+
+        String foreign = new JwtServiceImpl(OTHER_SIGNING_KEY, Duration.ofMinutes(15), 100).generateToken(user());
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(foreign));
+        String tampered = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(tampered));
+    }
+
+    private static User user() {
+        return User.builder().userId(7).name("lifter").emailId("lifter@example.com").password("x").tokenVersion(3).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.security.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceImplTest {
+
+    @Test
+    void rejectsRightAwayOnceThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingServiceImpl hashing = new PasswordHashingServiceImpl(blockingEncoder, meterRegistry, 4, 1, 1);
+        try {
+            CompletableFuture<String> running = hashing.encode("first");
+            CompletableFuture<String> queued = hashing.encode("second");
+
+            CompletableFuture<String> rejected = hashing.encode("third");
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(PasswordHashingRejectedException.class, e.getCause());
+            assertEquals(1, meterRegistry.get("auth.password.hash.rejected").counter().count());
+            release.countDown();
+            assertTrue(blockingEncoder.matches("first", running.get(5, TimeUnit.SECONDS)));
+            assertTrue(blockingEncoder.matches("second", queued.get(5, TimeUnit.SECONDS)));
+        } finally {
+            release.countDown();
+            hashing.shutdown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.workout.tracker.security.impl;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.security.IssuedRefreshToken;
+import com.workout.tracker.security.RefreshTokenService;
+import com.workout.tracker.security.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class RefreshTokenServiceImplTest {
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void rotationIssuesANewTokenAndRetiresTheOldOne() {
+        User user = fixtures.user("refresh");
+        String first = refreshTokenService.issue(user);
+
+        IssuedRefreshToken second = refreshTokenService.rotate(first);
+
+        assertNotEquals(first, second.getToken());
+        assertEquals(user.getUserId(), second.getUser().getUserId());
+        assertEquals(user.getUserId(), refreshTokenService.rotate(second.getToken()).getUser().getUserId());
+    }
+
+    @Test
+    void reusedTokenRevokesItsFamilyAndAccessTokens() {
+        User user = fixtures.user("refresh");
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).getToken();
+        String otherSession = refreshTokenService.issue(user);
+        assertTrue(userService.isTokenVersionCurrent(user.getUserId(), user.getTokenVersion()));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(first));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(second));
+        assertFalse(userService.isTokenVersionCurrent(user.getUserId(), user.getTokenVersion()));
+        // Other sign-ins are separate families and keep working.
+        assertEquals(user.getUserId(), refreshTokenService.rotate(otherSession).getUser().getUserId());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("not-a-token"));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(null));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(""));
+    }
+}
@@ -0,0 +1,119 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.DashboardDayDto;
+import com.workout.tracker.dto.response.DashboardDto;
+import com.workout.tracker.dto.response.RecentWorkoutDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "dashboard.component-timeout=300ms",
+        "spring.datasource.url=jdbc:h2:mem:dashboard;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class DashboardServiceTest {
+    // A Wednesday, so the week so far spans Monday the 13th to today.
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 15);
+
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @SpyBean
+    private PersonalRecordService personalRecordService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void combinesEveryComponent() {
+        User user = userWithHistory();
+
+        DashboardDto dashboard = dashboardService.getDashboard(user.getUserId(), TODAY);
+
+        assertEquals(List.of(), dashboard.getUnavailable());
+        assertEquals(2, dashboard.getWorkoutsThisWeek());
+        assertEquals(2, dashboard.getCurrentStreak());
+        assertEquals(2, dashboard.getLongestStreak());
+        assertEquals(1900, dashboard.getTotalVolumeThisWeek());
+        assertEquals(List.of(0, 46, 100, 0, 0, 0, 0),
+                dashboard.getWeeklyActivity().stream().map(DashboardDayDto::getPercentage).toList());
+        assertEquals(TODAY.minusDays(2), dashboard.getWeeklyActivity().get(0).getDate());
+        assertEquals(25, dashboard.getMonthlyProgress());
+        assertEquals(personalRecordService.getRecords(user.getUserId()).size(), dashboard.getPersonalRecordsCount());
+        assertTrue(dashboard.getPersonalRecordsCount() > 0);
+        assertEquals(List.of(TODAY, TODAY.minusDays(1), TODAY.minusDays(9)),
+                dashboard.getRecentWorkouts().stream().map(RecentWorkoutDto::getDate).toList());
+        assertEquals(1300, dashboard.getRecentWorkouts().get(0).getVolume());
+        assertEquals(2, dashboard.getRecentWorkouts().get(0).getSetCount());
+    }
+
+    @Test
+    void returnsPartialResultWhenAComponentMissesItsDeadline() {
+        User user = userWithHistory();
+        doAnswer(invocation -> {
+            Thread.sleep(2000);
+            return invocation.callRealMethod();
+        }).when(personalRecordService).getRecords(user.getUserId());
+
+        long start = System.nanoTime();
+        DashboardDto dashboard = dashboardService.getDashboard(user.getUserId(), TODAY);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of(DashboardService.PERSONAL_RECORDS), dashboard.getUnavailable());
+        assertNull(dashboard.getPersonalRecordsCount());
+        assertEquals(2, dashboard.getCurrentStreak());
+        assertNotNull(dashboard.getRecentWorkouts());
+        assertTrue(elapsedMillis < 1500, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void cancelsAComponentThatMissesItsDeadline() throws InterruptedException {
+        User user = userWithHistory();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return invocation.callRealMethod();
+        }).when(personalRecordService).getRecords(user.getUserId());
+
+        DashboardDto dashboard = dashboardService.getDashboard(user.getUserId(), TODAY);
+
+        assertEquals(List.of(DashboardService.PERSONAL_RECORDS), dashboard.getUnavailable());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "late component was left running");
+    }
+
+    private User userWithHistory() {
+        User user = fixtures.user("lifter");
+        UserExcercise bench = fixtures.exercise(user, "Push", "Bench");
+        userWorkoutExcerciseService.saveImportedSets(List.of(
+                set(bench, 1, 60, 10, TODAY.minusDays(9).atTime(18, 0)),
+                set(bench, 1, 60, 10, TODAY.minusDays(1).atTime(18, 0)),
+                set(bench, 1, 100, 5, TODAY.atTime(18, 0)),
+                set(bench, 2, 80, 10, TODAY.atTime(18, 0))), user.getUserId());
+        return user;
+    }
+}
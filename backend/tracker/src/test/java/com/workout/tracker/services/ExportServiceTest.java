@@ -0,0 +1,55 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void writesGzippedCsvInDateOrderForOneUser() throws Exception {
+        User user = fixtures.user("lifter");
+        UserExcercise curl = fixtures.exercise(user, "Arms, \"heavy\"", "Curl");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 18, 0);
+        userWorkoutExcerciseRepository.saveAll(List.of(
+                set(curl, 2, 22, 10, start.plusMinutes(5)),
+                set(curl, 1, 20, 12, start)));
+        UserExcercise otherUsers = fixtures.exercise(fixtures.user("lifter"), "Legs", "Squat");
+        userWorkoutExcerciseRepository.save(set(otherUsers, 1, 100, 5, start));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, exportService.exportSetsCsv(user.getUserId(), null, null, out));
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals("date_time,workout_name,exercise_name,set_number,weight,reps,volume\n"
+                + "2024-05-01T18:00:00,\"Arms, \"\"heavy\"\"\",Curl,1,20,12,240\n"
+                + "2024-05-01T18:05:00,\"Arms, \"\"heavy\"\"\",Curl,2,22,10,220\n", csv);
+    }
+}
@@ -0,0 +1,94 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.ExercisePerformanceDto;
+import com.workout.tracker.dto.response.WeeklyVolumeTrendDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.repositories.SummaryOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "summaries.apply.initial-delay=PT1H",
+        "spring.datasource.url=jdbc:h2:mem:summaries;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class PerformanceSummaryServiceTest {
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 13);
+
+    @Autowired
+    private PerformanceSummaryService performanceSummaryService;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private SummaryOutboxRepository summaryOutboxRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void foldsInsertsAndDeletesFromTheOutbox() {
+        User user = fixtures.user("lifter");
+        UserExcercise bench = fixtures.exercise(user, "Push", "Bench");
+        UserExcercise squat = fixtures.exercise(user, "Legs", "Squat");
+        List<UserWorkoutExcercise> sets = List.of(
+                set(bench, 1, 100, 5, MONDAY.atTime(18, 0)),
+                set(bench, 2, 80, 10, MONDAY.atTime(18, 0)),
+                set(bench, 1, 90, 8, MONDAY.plusDays(2).atTime(18, 0)),
+                set(squat, 1, 120, 5, MONDAY.plusDays(2).atTime(18, 0)),
+                set(squat, 1, 125, 5, MONDAY.plusDays(7).atTime(18, 0)));
+        userWorkoutExcerciseService.saveImportedSets(sets, user.getUserId());
+
+        // One entry per exercise and day, not per set.
+        assertEquals(4, summaryOutboxRepository.count());
+        assertEquals(List.of(), performanceSummaryService.getExercisePerformance(user.getUserId()));
+        assertEquals(4, performanceSummaryService.applyPending());
+        assertEquals(0, summaryOutboxRepository.count());
+
+        List<ExercisePerformanceDto> exercises = performanceSummaryService.getExercisePerformance(user.getUserId());
+        // Ordered by workout name, so Legs before Push.
+        assertEquals(List.of("Squat", "Bench"), exercises.stream().map(ExercisePerformanceDto::getExerciseName).toList());
+        ExercisePerformanceDto benchSummary = exercises.get(1);
+        assertEquals(3, benchSummary.getTotalSets());
+        assertEquals(23, benchSummary.getTotalReps());
+        assertEquals(500 + 800 + 720, benchSummary.getTotalVolume());
+        assertEquals(90.0, benchSummary.getAvgWeight(), 1e-9);
+        assertEquals(100, benchSummary.getMaxWeight());
+        assertEquals(10, benchSummary.getMaxReps());
+        assertEquals(2, benchSummary.getDaysPerformed());
+        assertEquals(MONDAY, benchSummary.getFirstPerformed());
+        assertEquals(MONDAY.plusDays(2), benchSummary.getLastPerformed());
+
+        List<WeeklyVolumeTrendDto> weeks = performanceSummaryService.getWeeklyVolumeTrends(user.getUserId(), null, null);
+        assertEquals(2, weeks.size());
+        assertEquals(MONDAY, weeks.get(0).getWeekStart());
+        assertEquals(2, weeks.get(0).getWorkoutsCount());
+        assertEquals(2, weeks.get(0).getUniqueExercises());
+        assertEquals(4, weeks.get(0).getTotalSets());
+        assertEquals(500 + 800 + 720 + 600, weeks.get(0).getTotalVolume());
+
+        // Deleting the heaviest set lowers the maximum, and deleting the only set of a week removes the week.
+        userWorkoutExcerciseService.deleteSet(sets.get(0).getUserWorkoutExcerciseId());
+        userWorkoutExcerciseService.deleteSet(sets.get(4).getUserWorkoutExcerciseId());
+        assertEquals(2, performanceSummaryService.applyPending());
+
+        exercises = performanceSummaryService.getExercisePerformance(user.getUserId());
+        assertEquals(120, exercises.get(0).getMaxWeight());
+        assertEquals(90, exercises.get(1).getMaxWeight());
+        assertEquals(2, exercises.get(1).getTotalSets());
+        weeks = performanceSummaryService.getWeeklyVolumeTrends(user.getUserId(), null, null);
+        assertEquals(1, weeks.size());
+        assertEquals(3, weeks.get(0).getTotalSets());
+    }
+}
@@ -0,0 +1,114 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.PersonalRecordDto;
+import com.workout.tracker.dto.response.SetsAddedResponseDto;
+import com.workout.tracker.entities.PersonalRecord;
+import com.workout.tracker.entities.PersonalRecordType;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.events.UserDataChangedEvent;
+import com.workout.tracker.repositories.PersonalRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class PersonalRecordServiceTest {
+
+    @Autowired
+    private PersonalRecordService personalRecordService;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private PersonalRecordRepository personalRecordRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private int userId;
+    private int userExcerciseId;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("lifter");
+        userId = user.getUserId();
+        userExcerciseId = fixtures.exercise(user, "Pull", "Deadlift").getUserExcerciseId();
+    }
+
+    @Test
+    void newRecordsAreFlaggedOnIngest() {
+        SetsAddedResponseDto first = userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5)));
+        assertEquals(Set.of(PersonalRecordType.values()), types(first.getNewPersonalRecords()));
+        assertTrue(first.getNewPersonalRecords().stream().allMatch(record -> record.getPreviousValue() == null));
+
+        SetsAddedResponseDto second = userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 2, 100, 3)));
+        // Lighter on every count but adds to today's volume.
+        assertEquals(Set.of(PersonalRecordType.BEST_SESSION_VOLUME), types(second.getNewPersonalRecords()));
+        assertEquals(500, second.getNewPersonalRecords().get(0).getPreviousValue());
+        assertEquals(800, second.getNewPersonalRecords().get(0).getValue());
+
+        SetsAddedResponseDto third = userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 3, 140, 1), set(userExcerciseId, 4, 60, 12)));
+        assertEquals(140, record(PersonalRecordType.HEAVIEST_WEIGHT, 0).getWeight());
+        assertEquals(140, record(PersonalRecordType.BEST_ESTIMATED_ONE_REP_MAX, 0).getValue());
+        assertEquals(12, record(PersonalRecordType.MOST_REPS_AT_WEIGHT, 60).getReps());
+        assertEquals(5, record(PersonalRecordType.MOST_REPS_AT_WEIGHT, 100).getReps());
+        assertEquals(5, third.getNewPersonalRecords().size());
+        assertEquals(6, personalRecordService.getRecords(userId, userExcerciseId).size());
+        assertTrue(personalRecordService.getRecords(userId + 1, userExcerciseId).isEmpty());
+    }
+
+    @Test
+    void recordsHeldByADeletedSetAreRecomputed() {
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5), set(userExcerciseId, 2, 140, 1)));
+        PersonalRecordDto heaviest = record(PersonalRecordType.HEAVIEST_WEIGHT, 0);
+
+        userWorkoutExcerciseService.deleteSet(heaviest.getUserWorkoutExcerciseId());
+
+        assertEquals(100, record(PersonalRecordType.HEAVIEST_WEIGHT, 0).getWeight());
+        assertEquals(100 * (1 + 5 / 30.0), record(PersonalRecordType.BEST_ESTIMATED_ONE_REP_MAX, 0).getValue(), 0.001);
+        assertEquals(500, record(PersonalRecordType.BEST_SESSION_VOLUME, 0).getValue());
+        assertNull(record(PersonalRecordType.MOST_REPS_AT_WEIGHT, 140));
+    }
+
+    @Test
+    void recordsChangedThroughAnotherInstanceAreReloadedOnceTheUsersDataChanges() {
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5)));
+        assertEquals(100, record(PersonalRecordType.HEAVIEST_WEIGHT, 0).getWeight());
+
+        // Another instance's commit leaves this instance's index untouched.
+        PersonalRecord heaviest = personalRecordRepository.findByUserExcerciseId(userExcerciseId).stream()
+                .filter(row -> row.getRecordType() == PersonalRecordType.HEAVIEST_WEIGHT)
+                .findFirst().orElseThrow();
+        heaviest.setWeight(120);
+        personalRecordRepository.save(heaviest);
+        assertEquals(100, record(PersonalRecordType.HEAVIEST_WEIGHT, 0).getWeight());
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(Set.of(userId)));
+
+        assertEquals(120, record(PersonalRecordType.HEAVIEST_WEIGHT, 0).getWeight());
+    }
+
+    private PersonalRecordDto record(PersonalRecordType recordType, int weight) {
+        return personalRecordService.getRecord(userExcerciseId, recordType, weight).orElse(null);
+    }
+
+    private static Set<PersonalRecordType> types(List<PersonalRecordDto> records) {
+        return records.stream().map(PersonalRecordDto::getRecordType).collect(Collectors.toSet());
+    }
+}
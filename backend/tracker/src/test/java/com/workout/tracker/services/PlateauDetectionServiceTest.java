@@ -0,0 +1,96 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.PlateauDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.repositories.JobLockRepository;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One user per task so the run forks; its own database keeps the extra context from sharing sequences with the others.
+@SpringBootTest(properties = {
+        "plateaus.detection.users-per-task=1",
+        "spring.datasource.url=jdbc:h2:mem:plateaus;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class PlateauDetectionServiceTest {
+
+    @Autowired
+    private PlateauDetectionService plateauDetectionService;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private JobLockRepository jobLockRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void flagsExercisesWithoutRecentProgressForEveryUser() {
+        User stalled = fixtures.user("lifter");
+        UserExcercise squat = fixtures.exercise(stalled, "Full Body", "Squat");
+        UserExcercise bench = fixtures.exercise(stalled, "Full Body", "Bench Press");
+        // Squat last improved 30 days ago; repeating a lighter session since is not progress.
+        set(squat, 100, 5, 40);
+        set(squat, 105, 5, 30);
+        set(squat, 100, 5, 10);
+        // Bench improved a week ago, and a set from before the window does not count.
+        set(bench, 200, 1, 120);
+        set(bench, 60, 8, 35);
+        set(bench, 62, 8, 7);
+
+        User progressing = fixtures.user("lifter");
+        UserExcercise deadlift = fixtures.exercise(progressing, "Full Body", "Deadlift");
+        set(deadlift, 140, 5, 50);
+        set(deadlift, 140, 6, 2);
+
+        assertTrue(plateauDetectionService.detectAll() >= 1);
+
+        List<PlateauDto> plateaus = plateauDetectionService.getPlateaus(stalled.getUserId());
+        assertEquals(1, plateaus.size());
+        PlateauDto plateau = plateaus.get(0);
+        assertEquals(squat.getUserExcerciseId(), plateau.getUserExcerciseId());
+        assertEquals("Squat", plateau.getExerciseName());
+        assertEquals(LocalDate.now().minusDays(30), plateau.getLastProgressDate());
+        assertEquals(30, plateau.getDaysSinceProgress());
+        assertEquals(105, plateau.getPeakWeight());
+        assertTrue(plateauDetectionService.getPlateaus(progressing.getUserId()).isEmpty());
+
+        // The next run replaces the rows once the exercise progresses again.
+        set(squat, 110, 5, 0);
+        plateauDetectionService.detectAll();
+        assertTrue(plateauDetectionService.getPlateaus(stalled.getUserId()).isEmpty());
+    }
+
+    @Test
+    void skipsARunWhileAnotherInstanceHoldsTheLease() {
+        JobLockService otherInstance = new JobLockService(jobLockRepository, transactionManager);
+        assertTrue(otherInstance.tryAcquire("plateau-detection", Duration.ofMinutes(5)));
+        try {
+            assertEquals(-1, plateauDetectionService.detectAll());
+        } finally {
+            otherInstance.release("plateau-detection");
+        }
+        assertTrue(plateauDetectionService.detectAll() >= 0);
+    }
+
+    private void set(UserExcercise exercise, int weight, int reps, int daysAgo) {
+        userWorkoutExcerciseRepository.save(
+                TestFixtures.set(exercise, 1, weight, reps, LocalDate.now().minusDays(daysAgo).atTime(18, 0)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.ProgressPointDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProgressServiceTest {
+
+    @Autowired
+    private ProgressService progressService;
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private int userId;
+    private int userExcerciseId;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("lifter");
+        userId = user.getUserId();
+        userExcerciseId = fixtures.exercise(user, "Legs", "Squat").getUserExcerciseId();
+    }
+
+    @Test
+    void dailySummaryTracksAddedSetsAndIsRepairedOnDelete() {
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5), set(userExcerciseId, 2, 120, 1)));
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 3, 110, 3)));
+
+        ProgressPointDto today = onlyPoint();
+        assertEquals(120, today.getTopSetWeight());
+        assertEquals(1, today.getTopSetReps());
+        // Epley: 100x5 -> 116.7, the single at 120 counts as 120, 110x3 -> 121.
+        assertEquals(110 * (1 + 3 / 30.0), today.getBestEstimatedOneRepMax(), 0.001);
+        assertEquals(100 * 5 + 120 + 110 * 3, today.getVolume());
+        assertEquals(3, today.getSetCount());
+
+        int heaviestSetId = userWorkoutExcerciseRepository.findAll().stream()
+                .filter(set -> set.getUserExcercise().getUserExcerciseId() == userExcerciseId && set.getWeight() == 120)
+                .findFirst().orElseThrow().getUserWorkoutExcerciseId();
+        userWorkoutExcerciseService.deleteSet(heaviestSetId);
+
+        ProgressPointDto repaired = onlyPoint();
+        assertEquals(110, repaired.getTopSetWeight());
+        assertEquals(110 * (1 + 3 / 30.0), repaired.getBestEstimatedOneRepMax(), 0.001);
+        assertEquals(100 * 5 + 110 * 3, repaired.getVolume());
+        assertEquals(2, repaired.getSetCount());
+    }
+
+    @Test
+    void progressIsScopedToOwnerAndDateRange() {
+        userWorkoutExcerciseService.addUserWorkoutExcercise(List.of(set(userExcerciseId, 1, 100, 5)));
+
+        assertTrue(progressService.getProgress(userId + 1, userExcerciseId, null, null).isEmpty());
+        assertTrue(progressService.getProgress(userId, userExcerciseId, LocalDate.now().plusDays(1), null).isEmpty());
+    }
+
+    private ProgressPointDto onlyPoint() {
+        List<ProgressPointDto> progress = progressService.getProgress(userId, userExcerciseId, null, null);
+        assertEquals(1, progress.size());
+        assertEquals(LocalDate.now(), progress.get(0).getDate());
+        return progress.get(0);
+    }
+}
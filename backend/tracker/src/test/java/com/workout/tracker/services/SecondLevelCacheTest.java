@@ -0,0 +1,112 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.request.ExerciseRequestDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.projection.UserWorkoutProjection;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import com.workout.tracker.repositories.UserWorkoutRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class SecondLevelCacheTest {
+    @Autowired
+    private UserExcerciseService userExcerciseService;
+    @Autowired
+    private UserWorkoutService userWorkoutService;
+    @Autowired
+    private UserExcerciseRepository userExcerciseRepository;
+    @Autowired
+    private UserWorkoutRepository userWorkoutRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("cached");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void resolvesExerciseOwnersFromTheCache() {
+        UserExcercise bench = fixtures.exercise(user, "Push", "Bench");
+        userExcerciseRepository.findOwners(List.of(bench.getUserExcerciseId()));
+        statistics.clear();
+
+        Map<Integer, Integer> owners = userExcerciseRepository.findOwners(List.of(bench.getUserExcerciseId(), -1));
+
+        assertEquals(Map.of(bench.getUserExcerciseId(), user.getUserId()), owners);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user-exercises").getHitCount());
+        assertEquals(0, statistics.getEntityStatistics(UserExcercise.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void cachesExerciseListsUntilAnExerciseIsAdded() {
+        userExcerciseService.addUserExcercise(exercise("Squat"));
+        assertEquals(1, userExcerciseService.viewUserExercise(user.getUserId()).size());
+        statistics.clear();
+
+        assertEquals(1, userExcerciseService.viewUserExercise(user.getUserId()).size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("user-exercises-by-user").getHitCount());
+
+        userExcerciseService.addUserExcercise(exercise("Lunge"));
+        assertEquals(2, userExcerciseService.viewUserExercise(user.getUserId()).size());
+    }
+
+    @Test
+    void bulkDeleteInvalidatesCachedWorkouts() {
+        int kept = userWorkoutService.addUserWorkout(user.getUserId(), "Push");
+        int deleted = userWorkoutService.addUserWorkout(user.getUserId(), "Pull");
+        assertEquals(2, userWorkoutService.viewUserWorkout(user.getUserId()).size());
+        assertTrue(userWorkoutRepository.findById(deleted).isPresent());
+
+        userWorkoutService.deleteUserWorkoutById(deleted);
+
+        List<UserWorkoutProjection> workouts = userWorkoutService.viewUserWorkout(user.getUserId());
+        assertEquals(List.of(kept), workouts.stream().map(UserWorkoutProjection::getUserWorkoutId).toList());
+        assertFalse(userWorkoutRepository.findById(deleted).isPresent());
+    }
+
+    @Test
+    void exposesCacheMetricsFromTheCacheStatistics() {
+        UserExcercise row = fixtures.exercise(user, "Pull", "Row");
+        userExcerciseRepository.findOwners(List.of(row.getUserExcerciseId()));
+        userExcerciseRepository.findOwners(List.of(row.getUserExcerciseId()));
+
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "user-exercises").tag("result", "hit")
+                .functionCounter().count() > 0);
+        assertFalse(meterRegistry.find("cache.puts").tag("cache", "user-exercises-by-user").meters().isEmpty());
+    }
+
+    private ExerciseRequestDto exercise(String name) {
+        return ExerciseRequestDto.builder().userId(user.getUserId()).workoutName("Legs").excerciseName(name).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.SetImportResponseDto;
+import com.workout.tracker.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Measures CSV import throughput for a generated history of many exercises.
+ * <p>
+ * Run with {@code mvn test -Dtest=SetImportBenchmarkTest -Dbenchmark=true}; set
+ * {@code -Dbenchmark.rows=} to change the history size.
+ */
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:import-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SetImportBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int EXERCISES = Integer.getInteger("benchmark.exercises", 40);
+
+    @Autowired
+    private SetImportService setImportService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void importThroughput() throws Exception {
+        // A throwaway import so JIT warm-up does not count against the measured one.
+        run(ROWS / 10);
+        SetImportResponseDto result = run(ROWS);
+        System.out.printf("Imported %d rows in %d ms: %d rows/s, %d exercises created%n",
+                result.getRowsImported(), result.getElapsedMillis(), result.getRowsPerSecond(), result.getExercisesCreated());
+    }
+
+    private SetImportResponseDto run(int rows) throws Exception {
+        User user = fixtures.user("lifter");
+        StringBuilder csv = new StringBuilder("date_time,workout_name,exercise_name,set_number,weight,reps\n");
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 18, 0);
+        for (int i = 0; i < rows; i++) {
+            int exercise = i % EXERCISES;
+            csv.append(start.plusMinutes(i)).append(",Workout ").append(exercise % 5).append(",Exercise ").append(exercise)
+                    .append(',').append(i % 5 + 1).append(',').append(20 + i % 80).append(',').append(5 + i % 8).append('\n');
+        }
+        return setImportService.importCsv(user.getUserId(), "benchmark-" + user.getUserId(),
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.workout.tracker.services;
+
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.response.SetImportResponseDto;
+import com.workout.tracker.entities.SetImportCheckpoint;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.repositories.SetImportCheckpointRepository;
+import com.workout.tracker.repositories.UserExcerciseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "sets.import.chunk-size=2",
+        "sets.import.parallelism=2",
+        "sets.import.max-record-length=200",
+        "spring.datasource.url=jdbc:h2:mem:imports;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class SetImportServiceTest {
+    private static final String HEADER = "date_time,workout_name,exercise_name,set_number,weight,reps\n";
+    private static final String ROWS = "2024-05-01T18:00:00,Arms,Curl,1,20,12\n"
+            + "2024-05-01T18:05:00,\"Legs, \"\"heavy\"\"\",Squat,1,100,5\n"
+            + "2024-05-01,\"Back\nday\",Row,,60,8\n"
+            + "yesterday,Arms,Curl,1,20,12\n"
+            + "2024-05-02 18:00:00,Arms,Curl,2,22.4,10\n"
+            + "2024-05-02T18:10:00,\"Legs, \"\"heavy\"\"\",Squat,2,105,5\n";
+
+    @Autowired
+    private SetImportService setImportService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private UserExcerciseRepository userExcerciseRepository;
+    @Autowired
+    private SetImportCheckpointRepository setImportCheckpointRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void importsRowsResolvingExistingAndNewExercises() throws Exception {
+        User user = fixtures.user("lifter");
+        fixtures.exercise(user, "Arms", "Curl");
+
+        SetImportResponseDto result = setImportService.importCsv(user.getUserId(), "first-" + user.getUserId(), csv(HEADER + ROWS));
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(5, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(2, result.getExercisesCreated());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Row 4: "));
+        assertEquals(3, userExcerciseRepository.findByUserId(user).size());
+        assertEquals("date_time,workout_name,exercise_name,set_number,weight,reps,volume\n"
+                + "2024-05-01T00:00:00,\"Back\nday\",Row,1,60,8,480\n"
+                + "2024-05-01T18:00:00,Arms,Curl,1,20,12,240\n"
+                + "2024-05-01T18:05:00,\"Legs, \"\"heavy\"\"\",Squat,1,100,5,500\n"
+                + "2024-05-02T18:00:00,Arms,Curl,2,22,10,220\n"
+                + "2024-05-02T18:10:00,\"Legs, \"\"heavy\"\"\",Squat,2,105,5,525\n", export(user));
+    }
+
+    @Test
+    void retryWithSameImportIdResumesAfterLastCommittedChunk() throws Exception {
+        User user = fixtures.user("lifter");
+        String importId = "resume-" + user.getUserId();
+        String[] rows = ROWS.split("\n(?=2024|yesterday)");
+
+        SetImportResponseDto partial = setImportService.importCsv(user.getUserId(), importId,
+                csv(HEADER + rows[0] + "\n" + rows[1] + "\n" + rows[2] + "\n"));
+        assertEquals(3, partial.getRowsImported());
+
+        SetImportResponseDto resumed = setImportService.importCsv(user.getUserId(), importId, csv(HEADER + ROWS));
+        assertEquals(3, resumed.getRowsResumed());
+        assertEquals(2, resumed.getRowsImported());
+        assertEquals(1, resumed.getRowsRejected());
+        assertEquals(0, resumed.getExercisesCreated());
+
+        SetImportResponseDto repeated = setImportService.importCsv(user.getUserId(), importId, csv(HEADER + ROWS));
+        assertEquals(6, repeated.getRowsResumed());
+        assertEquals(0, repeated.getRowsImported());
+
+        assertEquals(5, export(user).lines().filter(line -> line.startsWith("2024-")).count());
+        assertTrue(setImportService.getStatus(user.getUserId(), importId).orElseThrow().isCompleted());
+        assertEquals(5, setImportService.getStatus(user.getUserId(), importId).orElseThrow().getRowsImported());
+        assertTrue(setImportService.getStatus(fixtures.user("lifter").getUserId(), importId).isEmpty());
+    }
+
+    @Test
+    void rejectsUnclosedQuoteWithoutSwallowingTheRestOfTheFile() throws Exception {
+        User user = fixtures.user("lifter");
+        String row = "2024-05-03T18:00:00,Arms,Curl,1,20,12\n";
+
+        // The stray quote joins the next five rows before the record passes 200 characters.
+        SetImportResponseDto result = setImportService.importCsv(user.getUserId(), "unclosed-" + user.getUserId(),
+                csv(HEADER + row + "2024-05-03T18:05:00,\"Arms,Curl,2,20,12\n" + row.repeat(10)));
+
+        assertEquals(7, result.getRowsRead());
+        assertEquals(6, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(List.of("Row 2: quoted field is not closed"), result.getErrors());
+    }
+
+    @Test
+    void rejectsMissingColumnsAndOtherUsersImports() throws Exception {
+        User user = fixtures.user("lifter");
+        String importId = "owned-" + user.getUserId();
+        setImportService.importCsv(user.getUserId(), importId, csv(HEADER));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> setImportService.importCsv(user.getUserId(), "columns-" + user.getUserId(), csv("date_time,weight,reps\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> setImportService.importCsv(fixtures.user("lifter").getUserId(), importId, csv(HEADER + ROWS)));
+    }
+
+    @Test
+    void failsWhenAnotherUploadOfTheSameImportCommitsFirst() {
+        User user = fixtures.user("lifter");
+        String importId = "concurrent-" + user.getUserId();
+        // Once the whole body has been read, another upload of the import commits the next chunk.
+        InputStream body = new SequenceInputStream(csv(HEADER + ROWS), new InputStream() {
+            @Override
+            public int read() {
+                SetImportCheckpoint checkpoint = setImportCheckpointRepository.findById(importId)
+                        .orElseGet(() -> SetImportCheckpoint.builder().importId(importId).userId(user.getUserId()).build());
+                checkpoint.setRowsCommitted(checkpoint.getRowsCommitted() + 2);
+                setImportCheckpointRepository.save(checkpoint);
+                return -1;
+            }
+        });
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+                () -> setImportService.importCsv(user.getUserId(), importId, body));
+
+        assertEquals("Import " + importId + " is already running", rejected.getMessage());
+        assertFalse(setImportService.getStatus(user.getUserId(), importId).orElseThrow().isCompleted());
+    }
+
+    private String export(User user) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportSetsCsv(user.getUserId(), null, null, out);
+        return new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,138 @@
+package com.workout.tracker.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.tracker.TestFixtures;
+import com.workout.tracker.dto.request.UserWorkoutExerciseDTO;
+import com.workout.tracker.dto.request.WorkoutExcerciseRequestDto;
+import com.workout.tracker.dto.response.SetPageDto;
+import com.workout.tracker.entities.User;
+import com.workout.tracker.entities.UserExcercise;
+import com.workout.tracker.entities.UserWorkoutExcercise;
+import com.workout.tracker.repositories.UserWorkoutExcerciseRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.workout.tracker.TestFixtures.set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class UserWorkoutExcerciseServiceTest {
+
+    private static final int SET_COUNT = 30;
+
+    @Autowired
+    private UserWorkoutExcerciseService userWorkoutExcerciseService;
+    @Autowired
+    private UserWorkoutExcerciseRepository userWorkoutExcerciseRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+    private int userId;
+    private int userExcerciseId;
+
+    @BeforeEach
+    void setUp() {
+        User user = fixtures.user("lifter");
+        userId = user.getUserId();
+        userExcerciseId = fixtures.exercise(user, "Push", "Bench Press").getUserExcerciseId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void addUserWorkoutExcerciseUsesConstantStatementCountForNSets() {
+        long before = userWorkoutExcerciseRepository.count();
+        statistics.clear();
+
+        userWorkoutExcerciseService.addUserWorkoutExcercise(sets(SET_COUNT));
+
+        assertEquals(SET_COUNT, statistics.getEntityStatistics(UserWorkoutExcercise.class.getName()).getInsertCount());
+        assertTrue(statistics.getEntityStatistics(UserExcercise.class.getName()).getLoadCount() <= 1,
+                "UserExcercise rows must not be loaded per set");
+        // One existence check, at most one sequence call per 50 ids and one batched insert per 50 rows,
+        // plus the daily summary upkeep (an exercise row lock, a summary lookup and a summary write) and
+        // the personal record upkeep (a row lock, a record lookup, a summary lookup, a sequence call and a record write)
+        // and the summary outbox entry (a sequence call and an insert), and the user's first data version
+        // bump (an update that finds no row, a user row lock, a second update, an insert and a read back).
+        long budget = 1 + 2L * ((SET_COUNT + 49) / 50) + 3 + 5 + 2 + 5;
+        assertTrue(statistics.getPrepareStatementCount() <= budget,
+                "Expected at most " + budget + " statements but was " + statistics.getPrepareStatementCount());
+        assertEquals(before + SET_COUNT, userWorkoutExcerciseRepository.count());
+    }
+
+    @Test
+    void addUserWorkoutExcerciseRejectsUnknownExerciseWithoutSaving() {
+        long before = userWorkoutExcerciseRepository.count();
+        List<WorkoutExcerciseRequestDto> sets = sets(3);
+        sets.get(1).setUserExcerciseId(Integer.MAX_VALUE);
+
+        assertThrows(EntityNotFoundException.class, () -> userWorkoutExcerciseService.addUserWorkoutExcercise(sets));
+        assertEquals(before, userWorkoutExcerciseRepository.count());
+    }
+
+    @Test
+    void getAddedSetsPageReturnsEverySetOnceAcrossEqualDateTimes() {
+        // Saved in one request, so every set shares the same dateTime and only the id breaks ties.
+        userWorkoutExcerciseService.addUserWorkoutExcercise(sets(SET_COUNT));
+
+        List<Integer> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            SetPageDto page = userWorkoutExcerciseService.getAddedSetsPage(userId, userExcerciseId, null, null, cursor, 7);
+            page.getItems().forEach(set -> pagedIds.add(set.getUserWorkoutExcerciseId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(SET_COUNT, pagedIds.size());
+        assertEquals(SET_COUNT, new HashSet<>(pagedIds).size());
+        assertEquals(userWorkoutExcerciseService.getAddedSetsPage(userId, userExcerciseId, null, null, null, SET_COUNT)
+                .getItems().stream().map(UserWorkoutExerciseDTO::getUserWorkoutExcerciseId).toList(), pagedIds);
+    }
+
+    @Test
+    void streamAddedSetsOffersANextCursorOnlyWhenMoreSetsRemain() throws Exception {
+        userWorkoutExcerciseService.addUserWorkoutExcercise(sets(SET_COUNT));
+
+        assertTrue(streamedPage(SET_COUNT - 1).path("nextCursor").isTextual());
+        JsonNode lastPage = streamedPage(SET_COUNT);
+        assertEquals(SET_COUNT, lastPage.path("items").size());
+        assertTrue(lastPage.path("nextCursor").isNull());
+    }
+
+    private JsonNode streamedPage(int limit) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userWorkoutExcerciseService.streamAddedSets(userId, userExcerciseId, null, null, null, limit, out);
+        return objectMapper.readTree(out.toByteArray()).path("body");
+    }
+
+    private List<WorkoutExcerciseRequestDto> sets(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(setNumber -> set(userExcerciseId, setNumber, 60 + setNumber, 8))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,46 @@
+package com.workout.tracker.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IntObjectHashMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // A small key range keeps probe runs long and removals frequent.
+            int key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<Integer, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>(2);
+        for (int key = 0; key < 100; key++) {
+            map.put(key * 1024, "v" + key);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+    }
+}